@@ -0,0 +1,63 @@
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure circuit breaker. After failureThreshold failures in a row
+ * the circuit opens and calls are rejected without touching the host; once
+ * cooldown has passed a single trial call is let through (half-open) and its
+ * outcome closes or re-opens the circuit.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final long CLOSED = -1;
+
+    private final int failureThreshold;
+    private final long cooldownNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // CLOSED, or the nanoTime at which the circuit opened.
+    private final AtomicLong openedAt = new AtomicLong(CLOSED);
+    private final AtomicInteger trialInFlight = new AtomicInteger();
+
+    public CircuitBreaker(int failureThreshold, Duration cooldown) {
+        this.failureThreshold = failureThreshold;
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    public boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened == CLOSED) {
+            return true;
+        }
+        if (System.nanoTime() - opened < cooldownNanos) {
+            return false;
+        }
+        // Cooldown over: exactly one caller gets to probe the host.
+        return trialInFlight.compareAndSet(0, 1);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(CLOSED);
+        trialInFlight.set(0);
+    }
+
+    public void onFailure() {
+        if (trialInFlight.compareAndSet(1, 0)) {
+            openedAt.set(System.nanoTime());
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.compareAndSet(CLOSED, System.nanoTime());
+        }
+    }
+
+    public State state() {
+        long opened = openedAt.get();
+        if (opened == CLOSED) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - opened < cooldownNanos ? State.OPEN : State.HALF_OPEN;
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-capacity, lock-free set of strings stored as 64-bit fingerprints in an
+ * open-addressed long array: 8 bytes per entry instead of a String plus a
+ * hash-map node. Two different strings colliding on all 64 bits is possible
+ * but, at crawler sizes, vanishingly unlikely; a collision only means a URL is
+ * treated as already seen.
+ */
+public class FingerprintSet {
+    private static final long EMPTY = 0L;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public FingerprintSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.maxSize = capacity / 4 * 3;
+    }
+
+    /** Returns true if value was not present and has been added. */
+    public boolean add(CharSequence value) {
+        long fingerprint = fingerprint(value);
+        int index = (int) fingerprint & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = slots.get(index);
+            if (current == fingerprint) {
+                return false;
+            }
+            if (current == EMPTY) {
+                if (size.get() >= maxSize) {
+                    throw new IllegalStateException("FingerprintSet is full: " + maxSize + " entries");
+                }
+                if (slots.compareAndSet(index, EMPTY, fingerprint)) {
+                    size.incrementAndGet();
+                    return true;
+                }
+                // Lost the race for this slot; look at it again.
+                probes--;
+                continue;
+            }
+            index = (index + 1) & mask;
+        }
+        throw new IllegalStateException("FingerprintSet is full: " + maxSize + " entries");
+    }
+
+    public boolean contains(CharSequence value) {
+        long fingerprint = fingerprint(value);
+        int index = (int) fingerprint & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = slots.get(index);
+            if (current == fingerprint) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 fmix64 avalanche.
+    static long fingerprint(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+}
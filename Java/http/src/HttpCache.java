@@ -0,0 +1,372 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Client-side HTTP cache for GET responses. Fresh entries are served without
+ * touching the network; stale entries carrying an ETag or Last-Modified are
+ * revalidated with a conditional request so a 304 only costs the headers.
+ *
+ * The memory tier is an LRU bounded by body bytes. When a disk directory is
+ * configured, entries evicted from memory spill there (also LRU, also bounded)
+ * and are promoted back on the next hit.
+ *
+ * Entries are keyed by URL alone, so responses carrying Vary are not stored.
+ */
+public class HttpCache {
+    private static final int DISK_FORMAT = 1;
+
+    public record Entry(int status, byte[] body, String etag, String lastModified, long storedAt, long expiresAt) {
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        public boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    private final long maxMemoryBytes;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    private final Path diskDir;
+    private final long maxDiskBytes;
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(64, 0.75f, true);
+    private long diskBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public HttpCache(long maxMemoryBytes) {
+        this(maxMemoryBytes, null, 0);
+    }
+
+    public HttpCache(long maxMemoryBytes, Path diskDir, long maxDiskBytes) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskDir = diskDir;
+        this.maxDiskBytes = maxDiskBytes;
+        if (diskDir != null) {
+            loadDiskIndex();
+        }
+    }
+
+    /** Returns the cached entry, fresh or stale, or null. Fresh lookups count as hits. */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = memory.get(key);
+        }
+        if (entry == null && diskDir != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                putInMemory(key, entry);
+            }
+        }
+        if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /** Adds If-None-Match / If-Modified-Since for a stale entry. */
+    public static void addValidators(Entry entry, BiConsumer<String, String> header) {
+        if (entry.etag() != null) {
+            header.accept("If-None-Match", entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            header.accept("If-Modified-Since", entry.lastModified());
+        }
+    }
+
+    /** Handles a 304: keeps the stored body and refreshes its lifetime from the new headers. */
+    public Entry notModified(String key, Entry stale, Map<String, List<String>> headers) {
+        revalidations.increment();
+        long now = System.currentTimeMillis();
+        String etag = header(headers, "ETag");
+        String lastModified = header(headers, "Last-Modified");
+        Entry refreshed = new Entry(stale.status(), stale.body(),
+                etag != null ? etag : stale.etag(),
+                lastModified != null ? lastModified : stale.lastModified(),
+                now, expiresAt(headers, now));
+        put(key, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Records a full response, storing it when Cache-Control allows. It counts as a miss
+     * when it is stored or replaces a stale entry; a response the cache could never have
+     * answered, such as a no-store or non-200 first fetch, is not counted.
+     */
+    public void store(String key, int status, Map<String, List<String>> headers, byte[] body) {
+        boolean replacing = contains(key);
+        if (storeIfAllowed(key, status, headers, body) || replacing) {
+            misses.increment();
+        }
+    }
+
+    public void put(String key, Entry entry) {
+        if (entry.body().length > maxMemoryBytes) {
+            remove(key);
+            writeToDisk(key, entry);
+            return;
+        }
+        putInMemory(key, entry);
+    }
+
+    public void remove(String key) {
+        synchronized (this) {
+            Entry old = memory.remove(key);
+            if (old != null) {
+                memoryBytes -= old.body().length;
+            }
+        }
+        if (diskDir != null) {
+            deleteFromDisk(fileName(key));
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long revalidations() {
+        return revalidations.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpCache[hits=" + hits() + ", revalidations=" + revalidations() + ", misses=" + misses()
+                + ", memoryBytes=" + memoryBytes + ", diskBytes=" + diskBytes + "]";
+    }
+
+    private boolean storeIfAllowed(String key, int status, Map<String, List<String>> headers, byte[] body) {
+        if (status != 200) {
+            return false;
+        }
+        String cacheControl = header(headers, "Cache-Control");
+        if (cacheControl != null && cacheControl.toLowerCase().contains("no-store")
+                || header(headers, "Vary") != null) {
+            remove(key);
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(status, body, header(headers, "ETag"), header(headers, "Last-Modified"),
+                now, expiresAt(headers, now));
+        if (!entry.isFresh(now) && !entry.canRevalidate()) {
+            return false;
+        }
+        put(key, entry);
+        return true;
+    }
+
+    private boolean contains(String key) {
+        synchronized (this) {
+            if (memory.containsKey(key)) {
+                return true;
+            }
+        }
+        if (diskDir == null) {
+            return false;
+        }
+        synchronized (diskIndex) {
+            return diskIndex.containsKey(fileName(key));
+        }
+    }
+
+    private void putInMemory(String key, Entry entry) {
+        Map<String, Entry> spilled = new LinkedHashMap<>();
+        synchronized (this) {
+            Entry old = memory.put(key, entry);
+            memoryBytes += entry.body().length - (old == null ? 0 : old.body().length);
+            Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> victim = eldest.next();
+                eldest.remove();
+                memoryBytes -= victim.getValue().body().length;
+                spilled.put(victim.getKey(), victim.getValue());
+            }
+        }
+        // Disk writes happen outside the memory lock.
+        if (diskDir != null) {
+            spilled.forEach(this::writeToDisk);
+        }
+    }
+
+    private static long expiresAt(Map<String, List<String>> headers, long now) {
+        String cacheControl = header(headers, "Cache-Control");
+        if (cacheControl != null) {
+            long maxAge = -1;
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-cache")) {
+                    return now;
+                }
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        maxAge = Long.parseLong(directive.substring(8).trim());
+                    } catch (NumberFormatException e) {
+                        return now;
+                    }
+                }
+            }
+            if (maxAge >= 0) {
+                return now + maxAge * 1000;
+            }
+        }
+        String expires = header(headers, "Expires");
+        if (expires != null) {
+            try {
+                return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return now;
+            }
+        }
+        return now;
+    }
+
+    // HttpClient lower-cases header names, HttpURLConnection does not; match case-insensitively.
+    static String header(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return String.join(", ", header.getValue());
+            }
+        }
+        return null;
+    }
+
+    private void loadDiskIndex() {
+        try {
+            Files.createDirectories(diskDir);
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.filter(f -> f.getFileName().toString().endsWith(".entry"))
+                        .sorted((a, b) -> lastModifiedTime(a).compareTo(lastModifiedTime(b)))
+                        .forEach(f -> {
+                            long size = f.toFile().length();
+                            diskIndex.put(f.getFileName().toString(), size);
+                            diskBytes += size;
+                        });
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot use cache directory " + diskDir, e);
+        }
+    }
+
+    private static Long lastModifiedTime(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private Entry readFromDisk(String key) {
+        String name = fileName(key);
+        synchronized (diskIndex) {
+            if (diskIndex.get(name) == null) {
+                return null;
+            }
+        }
+        try (InputStream file = Files.newInputStream(diskDir.resolve(name));
+             DataInputStream in = new DataInputStream(file)) {
+            if (in.readInt() != DISK_FORMAT || !in.readUTF().equals(key)) {
+                return null;
+            }
+            int status = in.readInt();
+            long storedAt = in.readLong();
+            long expiresAt = in.readLong();
+            String etag = emptyToNull(in.readUTF());
+            String lastModified = emptyToNull(in.readUTF());
+            byte[] body = in.readNBytes(in.readInt());
+            return new Entry(status, body, etag, lastModified, storedAt, expiresAt);
+        } catch (IOException e) {
+            deleteFromDisk(name);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        if (diskDir == null || entry.body().length > maxDiskBytes) {
+            return;
+        }
+        String name = fileName(key);
+        Path target = diskDir.resolve(name);
+        try {
+            Path tmp = Files.createTempFile(diskDir, "write", ".tmp");
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(DISK_FORMAT);
+                out.writeUTF(key);
+                out.writeInt(entry.status());
+                out.writeLong(entry.storedAt());
+                out.writeLong(entry.expiresAt());
+                out.writeUTF(entry.etag() == null ? "" : entry.etag());
+                out.writeUTF(entry.lastModified() == null ? "" : entry.lastModified());
+                out.writeInt(entry.body().length);
+                out.write(entry.body());
+            }
+            long size = Files.size(tmp);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (diskIndex) {
+                Long old = diskIndex.put(name, size);
+                diskBytes += size - (old == null ? 0 : old);
+                Iterator<Map.Entry<String, Long>> eldest = diskIndex.entrySet().iterator();
+                while (diskBytes > maxDiskBytes && eldest.hasNext()) {
+                    Map.Entry<String, Long> victim = eldest.next();
+                    eldest.remove();
+                    diskBytes -= victim.getValue();
+                    Files.deleteIfExists(diskDir.resolve(victim.getKey()));
+                }
+            }
+        } catch (IOException e) {
+            // The disk tier is best effort; a failed write only costs a future miss.
+            deleteFromDisk(name);
+        }
+    }
+
+    private void deleteFromDisk(String name) {
+        synchronized (diskIndex) {
+            Long size = diskIndex.remove(name);
+            if (size != null) {
+                diskBytes -= size;
+            }
+        }
+        try {
+            Files.deleteIfExists(diskDir.resolve(name));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + ".entry";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -1,18 +1,75 @@
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class HttpClientImpl {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    // One client for the whole process so connections and HTTP/2 streams are reused across calls.
+    private static final ExecutorService SHARED_EXECUTOR = newExecutor(Runtime.getRuntime().availableProcessors());
+    private static final HttpClient SHARED_CLIENT = newClient(CONNECT_TIMEOUT, SHARED_EXECUTOR);
+    private static final SingleFlight<String, HttpResponse<byte[]>> SHARED_FLIGHTS = new SingleFlight<>();
+
     HttpClient client;
+    ExecutorService executor;
+    HttpCache cache;
+    Resilience resilience;
+    SingleFlight<String, HttpResponse<byte[]>> flights = SHARED_FLIGHTS;
     HttpRequest request;
     HttpResponse<String> response;
     HttpHeaders headers;
 
+    public HttpClientImpl() {
+        this(SHARED_CLIENT, SHARED_EXECUTOR);
+    }
+
+    public HttpClientImpl(HttpClient client, ExecutorService executor) {
+        this.client = client;
+        this.executor = executor;
+        // Created up front: a lazy check-then-set would give racing first callers separate budgets and breakers.
+        this.resilience = new Resilience(Resilience.Policy.defaults(), executor);
+    }
+
+    public void setCache(HttpCache cache) {
+        this.cache = cache;
+    }
+
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    public static HttpClient newClient(Duration connectTimeout, ExecutorService executor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    public static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "http-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     public void makeRequest(String uri) {
         try {
-            client = HttpClient.newHttpClient();
             request = HttpRequest.newBuilder()
                     .uri(new URI(uri))
                     .GET()
@@ -27,8 +84,171 @@ public class HttpClientImpl {
         }
     }
 
+    /**
+     * GETs the body, answering from the cache when fresh and revalidating it when stale.
+     * A non-2xx response throws HttpStatusException, as HttpURLConnection does for errors.
+     */
+    public byte[] fetch(String uri) throws IOException, InterruptedException {
+        HttpCache.Entry cached = cache == null ? null : cache.get(uri);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            return cached.body();
+        }
+        HttpRequest.Builder get = HttpRequest.newBuilder(URI.create(uri)).GET();
+        if (cached != null) {
+            HttpCache.addValidators(cached, get::header);
+        }
+        HttpResponse<byte[]> fetched = client.send(get.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (fetched.statusCode() == 304 && cached != null) {
+            return cache.notModified(uri, cached, fetched.headers().map()).body();
+        }
+        checkStatus(uri, fetched);
+        if (cache != null) {
+            cache.store(uri, fetched.statusCode(), fetched.headers().map(), fetched.body());
+        }
+        return fetched.body();
+    }
+
+    /**
+     * Sends the request, sharing one upstream exchange among all concurrent callers
+     * asking for the same GET or HEAD with the same headers. Other methods are not
+     * idempotent and always go out. Coalesced callers receive the same response and
+     * body array, which they must treat as read-only.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> sendCoalesced(HttpRequest request) {
+        if (!request.method().equals("GET") && !request.method().equals("HEAD")) {
+            return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        return flights.execute(coalescingKey(request),
+                () -> client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+    }
+
+    // Headers are part of the key so callers with different credentials or Accept never share a response.
+    static String coalescingKey(HttpRequest request) {
+        return request.method() + " " + request.uri() + " " + request.headers().map();
+    }
+
+    /** Sends through the resilience layer (timeout, budgeted retries, hedging, circuit breaker). */
+    public CompletableFuture<HttpResponse<byte[]>> sendResilient(HttpRequest request) {
+        return resilience.send(client, request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public SingleFlight<String, HttpResponse<byte[]>> flights() {
+        return flights;
+    }
+
+    /** Streams the body into target; a non-2xx response throws HttpStatusException and leaves target untouched. */
+    public Path download(String uri, Path target) throws IOException, InterruptedException {
+        HttpRequest get = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+        return checkStatus(uri, client.send(get, successOnly(StreamingBodyHandlers.ofFileChannel(target)))).body();
+    }
+
+    public long streamLines(String uri, Consumer<String> onLine) throws IOException, InterruptedException {
+        HttpRequest get = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+        return checkStatus(uri, client.send(get, successOnly(StreamingBodyHandlers.ofLines(onLine)))).body();
+    }
+
+    // Error pages are discarded instead of reaching a streaming sink; checkStatus then reports them.
+    private static <T> HttpResponse.BodyHandler<T> successOnly(HttpResponse.BodyHandler<T> handler) {
+        return info -> HttpStatusException.isSuccess(info.statusCode())
+                ? handler.apply(info)
+                : HttpResponse.BodySubscribers.replacing(null);
+    }
+
+    private static <T> HttpResponse<T> checkStatus(String uri, HttpResponse<T> response) throws HttpStatusException {
+        if (!HttpStatusException.isSuccess(response.statusCode())) {
+            throw new HttpStatusException(response.statusCode(), uri);
+        }
+        return response;
+    }
+
+    public CompletableFuture<Void> sendAll(List<String> uris, Consumer<Result> onResult) {
+        return sendAll(uris, DEFAULT_MAX_CONCURRENCY, onResult);
+    }
+
+    /**
+     * Fans out GET requests for all uris with at most maxConcurrency in flight.
+     * onResult is called once per uri in completion order; the returned future
+     * completes after the last callback.
+     */
+    public CompletableFuture<Void> sendAll(List<String> uris, int maxConcurrency, Consumer<Result> onResult) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (uris.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+        FanOut fanOut = new FanOut(uris, onResult, done);
+        int window = Math.min(maxConcurrency, uris.size());
+        for (int i = 0; i < window; i++) {
+            fanOut.sendNext();
+        }
+        return done;
+    }
+
+    public record Result(String uri, HttpResponse<String> response, Throwable error) {
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    private final class FanOut {
+        private final List<String> uris;
+        private final Consumer<Result> onResult;
+        private final CompletableFuture<Void> done;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+
+        FanOut(List<String> uris, Consumer<Result> onResult, CompletableFuture<Void> done) {
+            this.uris = uris;
+            this.onResult = onResult;
+            this.done = done;
+            this.remaining = new AtomicInteger(uris.size());
+        }
+
+        void sendNext() {
+            int index = next.getAndIncrement();
+            if (index >= uris.size()) {
+                return;
+            }
+            String uri = uris.get(index);
+            CompletableFuture<HttpResponse<String>> future;
+            try {
+                HttpRequest get = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+                future = client.sendAsync(get, HttpResponse.BodyHandlers.ofString());
+            } catch (IllegalArgumentException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            // Hop to the executor so an already-failed future cannot recurse into the next send.
+            future.whenCompleteAsync((resp, error) -> {
+                try {
+                    onResult.accept(new Result(uri, resp, error));
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        done.complete(null);
+                    } else {
+                        sendNext();
+                    }
+                }
+            }, executor);
+        }
+    }
+
     public static void main(String[] args) {
         HttpClientImpl obj = new HttpClientImpl();
         obj.makeRequest("https://www.google.com");
+
+        List<String> uris = List.of(
+                "https://jsonplaceholder.typicode.com/todos/1",
+                "https://jsonplaceholder.typicode.com/todos/2",
+                "https://jsonplaceholder.typicode.com/todos/3");
+        obj.sendAll(uris, 2, result -> {
+            if (result.isSuccess()) {
+                System.out.println(result.uri() + " -> " + result.response().statusCode());
+            } else {
+                System.out.println(result.uri() + " failed: " + result.error());
+            }
+        }).join();
     }
 }
@@ -0,0 +1,21 @@
+import java.io.IOException;
+
+/** A response arrived but its status was not 2xx; the body, if any, was not handed to the caller. */
+public class HttpStatusException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public HttpStatusException(int statusCode, String uri) {
+        super("HTTP " + statusCode + " for " + uri);
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    public static boolean isSuccess(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
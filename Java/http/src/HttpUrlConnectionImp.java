@@ -1,34 +1,232 @@
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 public class HttpUrlConnectionImp {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    // The JDK has no Brotli decoder, so br is deliberately not offered.
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final SingleFlight<String, byte[]> SHARED_FLIGHTS = new SingleFlight<>();
+
     HttpURLConnection httpURLConnection;
+    HttpCache cache;
+    int connectTimeoutMillis = 5_000;
+    int readTimeoutMillis = 15_000;
 
-    public void makeRequest(URL url){
-        try {
-            httpURLConnection = (HttpURLConnection) url.openConnection();
-            httpURLConnection.setRequestMethod("GET");
+    public HttpUrlConnectionImp() {
+    }
+
+    public HttpUrlConnectionImp(HttpCache cache) {
+        this.cache = cache;
+    }
+
+    public void setCache(HttpCache cache) {
+        this.cache = cache;
+    }
+
+    public void setTimeouts(int connectTimeoutMillis, int readTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(httpURLConnection.getInputStream()));
-            StringBuilder stringBuilder = new StringBuilder();
-            String line;
+    private HttpURLConnection open(URL url) throws IOException {
+        httpURLConnection = (HttpURLConnection) url.openConnection();
+        httpURLConnection.setRequestMethod("GET");
+        httpURLConnection.setConnectTimeout(connectTimeoutMillis);
+        httpURLConnection.setReadTimeout(readTimeoutMillis);
+        httpURLConnection.setRequestProperty("Accept-Encoding", ACCEPT_ENCODING);
+        return httpURLConnection;
+    }
 
-            while ((line = reader.readLine()) != null) {
-                stringBuilder.append(line);
+    // Response body with any Content-Encoding undone. An empty body (204, Content-Length: 0) is passed
+    // through even when labelled gzip: there is no header to decode and GZIPInputStream would throw.
+    private InputStream body() throws IOException {
+        InputStream raw = httpURLConnection.getInputStream();
+        String encoding = httpURLConnection.getContentEncoding();
+        if (encoding == null) {
+            return raw;
+        }
+        PushbackInputStream in = new PushbackInputStream(raw, 2);
+        int first = in.read();
+        if (first == -1) {
+            return in;
+        }
+        in.unread(first);
+        return switch (encoding.trim().toLowerCase()) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(in, BUFFER_SIZE);
+            case "deflate" -> inflate(in);
+            default -> in;
+        };
+    }
+
+    // "deflate" is meant to be zlib-wrapped, but some servers send raw deflate; peek at the header to tell.
+    private static InputStream inflate(PushbackInputStream in) throws IOException {
+        int cmf = in.read();
+        int flg = in.read();
+        if (flg != -1) {
+            in.unread(flg);
+        }
+        in.unread(cmf);
+        boolean zlib = flg != -1 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        // InflaterInputStream never ends an Inflater it was handed, so free the native zlib state on close.
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
             }
-            reader.close();
-            System.out.println(stringBuilder.toString());
+        };
+    }
 
-            httpURLConnection.disconnect();
+    /*
+     * Gives the connection back to the JDK's keep-alive cache instead of disconnect(),
+     * which would close the socket. An unread error body has to be drained first.
+     */
+    private void release() {
+        InputStream error = httpURLConnection.getErrorStream();
+        if (error != null) {
+            try (error) {
+                error.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public void makeRequest(URL url){
+        try {
+            long bytes = copyTo(url, System.out);
+            System.out.println();
+            System.out.println("Received " + bytes + " bytes");
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    // Copies the body in fixed-size chunks, so newlines survive and nothing is char-decoded.
+    public long copyTo(URL url, OutputStream out) throws IOException {
+        open(url);
+        try (InputStream in = body()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+            out.flush();
+            return total;
+        } finally {
+            release();
+        }
+    }
+
+    /** GETs the body, answering from the cache when fresh and revalidating it when stale. */
+    public byte[] fetch(URL url) throws IOException {
+        String key = url.toString();
+        HttpCache.Entry cached = cache == null ? null : cache.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            return cached.body();
+        }
+        open(url);
+        httpURLConnection.setUseCaches(false);
+        if (cached != null) {
+            HttpCache.addValidators(cached, httpURLConnection::setRequestProperty);
+        }
+        try {
+            int status = httpURLConnection.getResponseCode();
+            if (cache != null && status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                httpURLConnection.getInputStream().close();
+                return cache.notModified(key, cached, httpURLConnection.getHeaderFields()).body();
+            }
+            if (!HttpStatusException.isSuccess(status)) {
+                // release() drains the error body so the connection stays reusable.
+                throw new HttpStatusException(status, key);
+            }
+            byte[] body;
+            try (InputStream in = body()) {
+                body = in.readAllBytes();
+            }
+            if (cache != null) {
+                cache.store(key, status, httpURLConnection.getHeaderFields(), body);
+            }
+            return body;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Like fetch, but concurrent callers for the same URL share a single connection.
+     * Each caller gets its own copy of the body, so one changing it cannot affect another.
+     */
+    public byte[] fetchCoalesced(URL url) throws IOException {
+        try {
+            return SHARED_FLIGHTS.call("GET " + url, () -> {
+                HttpUrlConnectionImp leader = new HttpUrlConnectionImp(cache);
+                leader.setTimeouts(connectTimeoutMillis, readTimeoutMillis);
+                return leader.fetch(url);
+            }).clone();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /** fetch guarded by the resilience layer: budgeted retries and a per-host circuit breaker. */
+    public byte[] fetchResilient(URL url, Resilience resilience) throws IOException {
+        try {
+            return resilience.call(url.getHost(), true, () -> {
+                HttpUrlConnectionImp attempt = new HttpUrlConnectionImp(cache);
+                attempt.setTimeouts(connectTimeoutMillis, readTimeoutMillis);
+                return attempt.fetch(url);
+            });
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    public static SingleFlight<String, byte[]> flights() {
+        return SHARED_FLIGHTS;
+    }
+
+    public long download(URL url, Path target) throws IOException {
+        open(url);
+        try (ReadableByteChannel in = Channels.newChannel(body());
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long total = 0;
+            long transferred;
+            while ((transferred = out.transferFrom(in, total, BUFFER_SIZE)) > 0) {
+                total += transferred;
+            }
+            return total;
+        } finally {
+            release();
+        }
+    }
+
     public static void main(String[] args) {
         HttpUrlConnectionImp obj=new HttpUrlConnectionImp();
         try {
@@ -0,0 +1,190 @@
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Push-style JSON tokenizer. Bytes can be fed in arbitrary chunks (a token may
+ * be split across chunks) and tokens are emitted as soon as they are complete,
+ * so a document of any size is processed without holding it in memory.
+ */
+public class JsonTokenizer {
+    private static final Pattern NUMBER = Pattern.compile("-?(?:0|[1-9][0-9]*)(?:\\.[0-9]+)?(?:[eE][+-]?[0-9]+)?");
+
+    public enum Type {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, TRUE, FALSE, NULL
+    }
+
+    public record Token(Type type, String text) {
+    }
+
+    private enum State { VALUE, STRING, STRING_ESCAPE, LITERAL }
+
+    private final Consumer<Token> sink;
+    private final Deque<Boolean> containers = new ArrayDeque<>(); // true = object
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(64);
+    private State state = State.VALUE;
+    private boolean expectName;
+
+    public JsonTokenizer(Consumer<Token> sink) {
+        this.sink = sink;
+    }
+
+    public void feed(ByteBuffer chunk) {
+        while (chunk.hasRemaining()) {
+            byte b = chunk.get();
+            switch (state) {
+                case STRING -> {
+                    if (b == '"') {
+                        emitString();
+                    } else {
+                        if (b == '\\') {
+                            state = State.STRING_ESCAPE;
+                        }
+                        pending.write(b);
+                    }
+                }
+                case STRING_ESCAPE -> {
+                    pending.write(b);
+                    state = State.STRING;
+                }
+                case LITERAL -> {
+                    if (isLiteralByte(b)) {
+                        pending.write(b);
+                    } else {
+                        emitLiteral();
+                        structural(b);
+                    }
+                }
+                case VALUE -> structural(b);
+            }
+        }
+    }
+
+    public void finish() {
+        if (state == State.LITERAL) {
+            emitLiteral();
+        }
+        if (state != State.VALUE || !containers.isEmpty()) {
+            throw new IllegalStateException("Truncated JSON document");
+        }
+    }
+
+    private void structural(byte b) {
+        switch (b) {
+            case ' ', '\t', '\r', '\n', ':' -> { }
+            case ',' -> expectName = inObject();
+            case '{' -> {
+                containers.push(Boolean.TRUE);
+                expectName = true;
+                sink.accept(new Token(Type.BEGIN_OBJECT, "{"));
+            }
+            case '[' -> {
+                containers.push(Boolean.FALSE);
+                expectName = false;
+                sink.accept(new Token(Type.BEGIN_ARRAY, "["));
+            }
+            case '}' -> close(Boolean.TRUE, Type.END_OBJECT, "}");
+            case ']' -> close(Boolean.FALSE, Type.END_ARRAY, "]");
+            case '"' -> state = State.STRING;
+            default -> {
+                if (!isLiteralByte(b)) {
+                    throw new IllegalStateException("Unexpected byte in JSON: " + (char) b);
+                }
+                pending.write(b);
+                state = State.LITERAL;
+            }
+        }
+    }
+
+    private void close(Boolean object, Type type, String text) {
+        if (containers.isEmpty() || containers.pop() != object) {
+            throw new IllegalStateException("Unbalanced " + text + " in JSON");
+        }
+        expectName = false;
+        sink.accept(new Token(type, text));
+    }
+
+    private void emitString() {
+        String text = unescape(pending.toString(StandardCharsets.UTF_8));
+        pending.reset();
+        state = State.VALUE;
+        Type type = expectName ? Type.NAME : Type.STRING;
+        expectName = false;
+        sink.accept(new Token(type, text));
+    }
+
+    private void emitLiteral() {
+        String text = pending.toString(StandardCharsets.US_ASCII);
+        pending.reset();
+        state = State.VALUE;
+        Type type = switch (text) {
+            case "true" -> Type.TRUE;
+            case "false" -> Type.FALSE;
+            case "null" -> Type.NULL;
+            default -> {
+                if (!NUMBER.matcher(text).matches()) {
+                    throw new IllegalStateException("Invalid JSON literal: " + text);
+                }
+                yield Type.NUMBER;
+            }
+        };
+        sink.accept(new Token(type, text));
+    }
+
+    private boolean inObject() {
+        return !containers.isEmpty() && containers.peek();
+    }
+
+    private static boolean isLiteralByte(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || b == '-' || b == '+' || b == '.' || b == 'E';
+    }
+
+    private static String unescape(String raw) {
+        int slash = raw.indexOf('\\');
+        if (slash < 0) {
+            return raw;
+        }
+        StringBuilder out = new StringBuilder(raw.length());
+        out.append(raw, 0, slash);
+        for (int i = slash; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 == raw.length()) {
+                out.append(c);
+                continue;
+            }
+            char e = raw.charAt(++i);
+            switch (e) {
+                case 'n' -> out.append('\n');
+                case 't' -> out.append('\t');
+                case 'r' -> out.append('\r');
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'u' -> {
+                    out.append(hex(raw, i + 1));
+                    i += 4;
+                }
+                default -> out.append(e);
+            }
+        }
+        return out.toString();
+    }
+
+    private static char hex(String raw, int start) {
+        if (start + 4 > raw.length()) {
+            throw new IllegalStateException("Truncated \\u escape in JSON string");
+        }
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            int digit = Character.digit(raw.charAt(i), 16);
+            if (digit < 0) {
+                throw new IllegalStateException("Invalid \\u escape in JSON string: " + raw.substring(start, start + 4));
+            }
+            value = value << 4 | digit;
+        }
+        return (char) value;
+    }
+}
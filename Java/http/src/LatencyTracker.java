@@ -0,0 +1,48 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the last WINDOW latencies in a lock-free ring and a cached percentile
+ * that is recomputed every REFRESH samples, so reading it on the request path
+ * is a volatile load rather than a sort.
+ */
+public class LatencyTracker {
+    private static final int WINDOW = 1024;
+    private static final int REFRESH = 128;
+    private static final int MIN_SAMPLES = 32;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long cached = -1;
+
+    public LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % WINDOW), nanos);
+        if ((n + 1) % REFRESH == 0 && n + 1 >= MIN_SAMPLES) {
+            refresh(Math.min(n + 1, WINDOW));
+        }
+    }
+
+    /** The tracked percentile in nanoseconds, or -1 until enough samples exist. */
+    public long percentileNanos() {
+        if (cached < 0 && count.get() >= MIN_SAMPLES) {
+            refresh((int) Math.min(count.get(), WINDOW));
+        }
+        return cached;
+    }
+
+    private void refresh(long size) {
+        long[] copy = new long[(int) size];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+        cached = copy[(int) Math.min(copy.length - 1, Math.ceil(percentile * copy.length) - 1)];
+    }
+}
@@ -0,0 +1,245 @@
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded breadth-unordered crawler. Every page is fetched on its own virtual
+ * thread; a per-host semaphore (plus an optional delay while holding it) keeps
+ * the crawler polite, and discovered links are resolved with
+ * URLExtractor.buildNewUrl and deduplicated in a FingerprintSet.
+ */
+public class LinkCrawler {
+    private static final Pattern HREF = Pattern.compile("(?i)\\bhref\\s*=\\s*[\"']([^\"'#]+)");
+
+    public record Config(int maxPages, int maxDepth, int perHostConcurrency, Duration perHostDelay, boolean sameHostOnly) {
+        public Config {
+            // With no page or no permit allowed, crawl would wait forever for a page that never starts.
+            // A maxDepth of 0 is fine: only the seed is fetched.
+            if (maxPages <= 0 || perHostConcurrency <= 0) {
+                throw new IllegalArgumentException("maxPages and perHostConcurrency must be positive: "
+                        + maxPages + ", " + perHostConcurrency);
+            }
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException("maxDepth must be zero or positive: " + maxDepth);
+            }
+            if (perHostDelay == null || perHostDelay.isNegative()) {
+                throw new IllegalArgumentException("perHostDelay must be zero or positive: " + perHostDelay);
+            }
+        }
+
+        public static Config defaults() {
+            return new Config(1_000, 5, 4, Duration.ZERO, true);
+        }
+    }
+
+    public record Result(int pages, long failures, long linksSeen, long duplicates, Duration elapsed) {
+        public double pagesPerSecond() {
+            return pages * 1_000_000_000.0 / Math.max(1, elapsed.toNanos());
+        }
+    }
+
+    private final HttpClientImpl http;
+    private final Config config;
+    private final ConcurrentHashMap<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    public LinkCrawler(HttpClientImpl http, Config config) {
+        this.http = http;
+        this.config = config;
+    }
+
+    public Result crawl(String seed) throws MalformedURLException {
+        return new Run(URLExtractor.buildNewUrl(seed, seed)).await();
+    }
+
+    private final class Run {
+        private final String seedHost;
+        private final FingerprintSet visited = new FingerprintSet(config.maxPages());
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder linksSeen = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        private final long start = System.nanoTime();
+
+        Run(String seed) {
+            this.seedHost = URLExtractor.host(URI.create(seed));
+            offer(seed, 0);
+        }
+
+        Result await() {
+            try {
+                done.join();
+            } finally {
+                threads.shutdown();
+            }
+            return new Result(scheduled.get(), failures.sum(), linksSeen.sum(), duplicates.sum(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        private void offer(String url, int depth) {
+            if (scheduled.get() >= config.maxPages()) {
+                return;
+            }
+            if (!visited.add(url)) {
+                duplicates.increment();
+                return;
+            }
+            if (scheduled.incrementAndGet() > config.maxPages()) {
+                scheduled.decrementAndGet();
+                return;
+            }
+            pending.incrementAndGet();
+            threads.execute(() -> {
+                try {
+                    visit(url, depth);
+                } finally {
+                    if (pending.decrementAndGet() == 0) {
+                        done.complete(null);
+                    }
+                }
+            });
+        }
+
+        private void visit(String url, int depth) {
+            String page;
+            try {
+                page = fetch(url);
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (page == null || depth >= config.maxDepth()) {
+                return;
+            }
+            Matcher href = HREF.matcher(page);
+            while (href.find()) {
+                linksSeen.increment();
+                String link;
+                try {
+                    link = URLExtractor.buildNewUrl(url, href.group(1));
+                } catch (MalformedURLException e) {
+                    continue;
+                }
+                if (!link.startsWith("http") || config.sameHostOnly() && !seedHost.equals(URLExtractor.host(URI.create(link)))) {
+                    continue;
+                }
+                offer(link, depth + 1);
+            }
+        }
+
+        private String fetch(String url) throws IOException, InterruptedException {
+            Semaphore permits = hosts.computeIfAbsent(URLExtractor.host(URI.create(url)),
+                    host -> new Semaphore(config.perHostConcurrency()));
+            permits.acquire();
+            try {
+                HttpRequest get = HttpRequest.newBuilder(URI.create(url)).GET().build();
+                HttpResponse<byte[]> response = http.client.send(get, HttpResponse.BodyHandlers.ofByteArray());
+                if (!config.perHostDelay().isZero()) {
+                    Thread.sleep(config.perHostDelay());
+                }
+                if (response.statusCode() != 200) {
+                    failures.increment();
+                    return null;
+                }
+                // Links are ASCII; Latin-1 maps bytes 1:1 into a compact string without real decoding.
+                return new String(response.body(), StandardCharsets.ISO_8859_1);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Serves a synthetic site of pages /page/0 .. /page/{pages-1}, each linking to
+     * linksPerPage others through a mix of absolute, root-relative and relative hrefs.
+     */
+    static HttpServer startSite(int pages, int linksPerPage, int delayMillis) throws IOException {
+        // Without TCP_NODELAY the JDK server's separate header/body writes hit delayed ACKs (~40ms per request).
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/page/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int id;
+            try {
+                id = Integer.parseInt(path.substring("/page/".length()));
+            } catch (NumberFormatException e) {
+                id = -1;
+            }
+            if (id < 0 || id >= pages) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Random random = new Random(id);
+            StringBuilder html = new StringBuilder("<html><body><h1>Page ").append(id).append("</h1>\n");
+            for (int i = 0; i < linksPerPage; i++) {
+                int target = random.nextInt(pages);
+                String href = switch (i % 3) {
+                    case 0 -> "/page/" + target;
+                    case 1 -> "../page/" + target + "#top";
+                    default -> String.valueOf(target);
+                };
+                html.append("<a href=\"").append(href).append("\">").append(target).append("</a>\n");
+            }
+            byte[] body = html.append("</body></html>").toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    // java LinkCrawler [pages] [linksPerPage] [perHostConcurrency] [serverDelayMillis]
+    public static void main(String[] args) throws Exception {
+        int pages = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int linksPerPage = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int perHost = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int delay = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        HttpServer site = startSite(pages, linksPerPage, delay);
+        try {
+            String seed = "http://127.0.0.1:" + site.getAddress().getPort() + "/page/0";
+            Config config = new Config(pages, Integer.MAX_VALUE, perHost, Duration.ZERO, true);
+            LinkCrawler crawler = new LinkCrawler(new HttpClientImpl(), config);
+            Result result = crawler.crawl(seed);
+            System.out.printf("pages=%d failures=%d links=%d duplicates=%d elapsed=%dms rate=%.0f pages/s%n",
+                    result.pages(), result.failures(), result.linksSeen(), result.duplicates(),
+                    result.elapsed().toMillis(), result.pagesPerSecond());
+        } finally {
+            site.stop(0);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Offline load generator for the two clients. An in-process server answers
+ * /payload?bytes=N&delay=MS, and requests are issued open-loop: request i is
+ * due at start + i / rate whether or not earlier ones have finished, each on its
+ * own virtual thread. Latency is measured from that due time rather than from
+ * when the request actually went out, so a stalled client cannot hide queueing
+ * delay (coordinated omission); the uncorrected service time is reported next
+ * to it for comparison.
+ */
+public class LoadHarness {
+
+    interface Target {
+        void call(String url) throws Exception;
+    }
+
+    public record Report(String name, int sent, int errors, double seconds, long[] corrected, long[] service) {
+        void print() {
+            System.out.printf("%-22s sent=%d errors=%d throughput=%.0f req/s%n", name, sent, errors,
+                    (sent - errors) / seconds);
+            System.out.printf("  corrected  %s%n", percentiles(corrected));
+            System.out.printf("  service    %s%n", percentiles(service));
+        }
+    }
+
+    static HttpServer startServer() throws Exception {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        byte[] filler = new byte[1 << 20];
+        Arrays.fill(filler, (byte) 'x');
+        server.createContext("/payload", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            int bytes = intParam(query, "bytes", 1024);
+            int delay = intParam(query, "delay", 0);
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(200, bytes);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int left = bytes; left > 0; left -= filler.length) {
+                    out.write(filler, 0, Math.min(left, filler.length));
+                }
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    static Report run(String name, Target target, String url, int rate, int seconds) throws InterruptedException {
+        int total = rate * seconds;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long[] corrected = new long[total];
+        long[] service = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < total; i++) {
+                long due = start + i * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int slot = i;
+                threads.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        target.call(url);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    long end = System.nanoTime();
+                    corrected[slot] = end - due;
+                    service[slot] = end - sent;
+                });
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(corrected);
+        Arrays.sort(service);
+        return new Report(name, total, errors.get(), elapsed, corrected, service);
+    }
+
+    static String percentiles(long[] sorted) {
+        return String.format("p50=%s p90=%s p99=%s p99.9=%s max=%s",
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                millis(sorted, 1.0));
+    }
+
+    private static String millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return String.format("%.2fms", sorted[Math.max(0, index)] / 1e6);
+    }
+
+    private static int intParam(String query, String name, int fallback) {
+        if (query == null) {
+            return fallback;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return Integer.parseInt(pair.substring(name.length() + 1));
+            }
+        }
+        return fallback;
+    }
+
+    // java LoadHarness [rate req/s] [seconds] [payloadBytes] [serverDelayMillis] [jitterMillis]
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int bytes = args.length > 2 ? Integer.parseInt(args[2]) : 16 * 1024;
+        int delay = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        int jitter = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        HttpServer server = startServer();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/payload?bytes=" + bytes + "&delay=";
+            HttpClientImpl httpClient = new HttpClientImpl();
+            Target client = url -> httpClient.fetch(url);
+            Target connection = url -> new HttpUrlConnectionImp().fetch(URI.create(url).toURL());
+            String url = base + delay;
+            System.out.printf("rate=%d req/s for %ds, payload=%d bytes, server delay=%dms%n", rate, seconds, bytes, delay);
+
+            // Warm both paths up so JIT and connection setup do not land in the measurement.
+            run("warm-up", client, url, rate, 1);
+            run("warm-up", connection, url, rate, 1);
+
+            if (jitter > 0) {
+                // 1% of requests stall on the server, to see how each client's tail reacts.
+                Target stalling = ignored -> client.call(stall(base, delay, jitter));
+                run("HttpClientImpl+stalls", stalling, url, rate, seconds).print();
+            }
+            run("HttpClientImpl", client, url, rate, seconds).print();
+            run("HttpUrlConnectionImp", connection, url, rate, seconds).print();
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static String stall(String base, int delay, int jitter) {
+        return base + (ThreadLocalRandom.current().nextInt(100) == 0 ? delay + jitter : delay);
+    }
+}
@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound-call protection shared by HttpClientImpl and HttpUrlConnectionImp:
+ * a per-attempt timeout, retries with jittered backoff paid for from a
+ * RetryBudget, a hedged second request once an attempt outlives the host's p95,
+ * and a CircuitBreaker per host. Only GET and HEAD are retried or hedged.
+ */
+public class Resilience {
+
+    public record Policy(Duration timeout, int maxAttempts, Duration backoff, double retryRatio,
+                         boolean hedging, int breakerThreshold, Duration breakerCooldown) {
+        public static Policy defaults() {
+            return new Policy(Duration.ofSeconds(5), 3, Duration.ofMillis(50), 0.1, true, 5, Duration.ofSeconds(10));
+        }
+    }
+
+    public static class CircuitOpenException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public CircuitOpenException(String host) {
+            super("Circuit open for " + host);
+        }
+    }
+
+    private final Policy policy;
+    private final Executor executor;
+    private final RetryBudget budget;
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Resilience(Policy policy, Executor executor) {
+        this.policy = policy;
+        this.executor = executor;
+        this.budget = new RetryBudget(policy.retryRatio(), 10);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpClient client, HttpRequest request,
+                                                       HttpResponse.BodyHandler<T> handler) {
+        budget.onRequest();
+        HttpRequest timed = HttpRequest.newBuilder(request, (name, value) -> true).timeout(policy.timeout()).build();
+        return attempt(client, timed, handler, 1);
+    }
+
+    /** Blocking variant for clients that are not async; no hedging. */
+    public <T> T call(String host, boolean idempotent, Callable<T> call) throws Exception {
+        budget.onRequest();
+        CircuitBreaker breaker = breaker(host);
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                rejected.increment();
+                throw new CircuitOpenException(host);
+            }
+            long start = System.nanoTime();
+            try {
+                T value = call.call();
+                breaker.onSuccess();
+                latency(host).record(System.nanoTime() - start);
+                return value;
+            } catch (Exception e) {
+                if (!isFailure(e)) {
+                    breaker.onSuccess();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (!idempotent || attempt >= policy.maxAttempts() || !budget.tryWithdraw()) {
+                    throw e;
+                }
+                retries.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public CircuitBreaker.State circuit(String host) {
+        return breaker(host).state();
+    }
+
+    @Override
+    public String toString() {
+        return "Resilience[retries=" + retries() + ", hedges=" + hedges() + ", rejected=" + rejected()
+                + ", budget=" + budget.tokens() + "]";
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> attempt(HttpClient client, HttpRequest request,
+                                                           HttpResponse.BodyHandler<T> handler, int attempt) {
+        String host = request.uri().getHost();
+        CircuitBreaker breaker = breaker(host);
+        if (!breaker.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new CircuitOpenException(host));
+        }
+        return exchange(client, request, handler, host).handle((response, error) -> {
+            boolean failed = error != null ? isFailure(unwrap(error)) : response.statusCode() >= 500;
+            if (!failed) {
+                breaker.onSuccess();
+                return error == null
+                        ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<HttpResponse<T>>failedFuture(unwrap(error));
+            }
+            breaker.onFailure();
+            if (isIdempotent(request) && attempt < policy.maxAttempts() && budget.tryWithdraw()) {
+                retries.increment();
+                Executor later = CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS, executor);
+                return CompletableFuture.supplyAsync(() -> attempt(client, request, handler, attempt + 1), later)
+                        .thenCompose(next -> next);
+            }
+            return error == null
+                    ? CompletableFuture.completedFuture(response)
+                    : CompletableFuture.<HttpResponse<T>>failedFuture(unwrap(error));
+        }).thenCompose(next -> next);
+    }
+
+    // One attempt: the primary request plus, if it outlives the host's p95, a hedge. First success wins.
+    private <T> CompletableFuture<HttpResponse<T>> exchange(HttpClient client, HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> handler, String host) {
+        LatencyTracker tracker = latency(host);
+        CompletableFuture<HttpResponse<T>> primary = timed(client, request, handler, tracker);
+        long p95 = tracker.percentileNanos();
+        if (!policy.hedging() || !isIdempotent(request) || p95 <= 0) {
+            return primary;
+        }
+        CompletableFuture<HttpResponse<T>> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        race(primary, winner, outstanding);
+        Executor afterP95 = CompletableFuture.delayedExecutor(p95, TimeUnit.NANOSECONDS, executor);
+        afterP95.execute(() -> {
+            if (winner.isDone() || !budget.tryWithdraw()) {
+                return;
+            }
+            hedges.increment();
+            outstanding.incrementAndGet();
+            CompletableFuture<HttpResponse<T>> hedge = timed(client, request, handler, tracker);
+            race(hedge, winner, outstanding);
+            winner.whenComplete((r, e) -> hedge.cancel(true));
+        });
+        winner.whenComplete((r, e) -> primary.cancel(true));
+        return winner;
+    }
+
+    private static <T> void race(CompletableFuture<HttpResponse<T>> contender, CompletableFuture<HttpResponse<T>> winner,
+                                 AtomicInteger outstanding) {
+        contender.whenComplete((response, error) -> {
+            int left = outstanding.decrementAndGet();
+            if (error == null && response.statusCode() < 500) {
+                winner.complete(response);
+            } else if (left == 0) {
+                // Everyone has failed; report the last outcome.
+                if (error != null) {
+                    winner.completeExceptionally(error);
+                } else {
+                    winner.complete(response);
+                }
+            }
+        });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> timed(HttpClient client, HttpRequest request,
+                                                         HttpResponse.BodyHandler<T> handler, LatencyTracker tracker) {
+        long start = System.nanoTime();
+        // Return the sendAsync future itself (orTimeout returns this) so cancelling a losing hedge aborts its exchange.
+        CompletableFuture<HttpResponse<T>> sent = client.sendAsync(request, handler)
+                .orTimeout(policy.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        sent.whenComplete((response, error) -> {
+            if (error == null) {
+                tracker.record(System.nanoTime() - start);
+            }
+        });
+        return sent;
+    }
+
+    private CircuitBreaker breaker(String host) {
+        return breakers.computeIfAbsent(host,
+                h -> new CircuitBreaker(policy.breakerThreshold(), policy.breakerCooldown()));
+    }
+
+    private LatencyTracker latency(String host) {
+        return latencies.computeIfAbsent(host, h -> new LatencyTracker(0.95));
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = policy.backoff().toMillis() << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    /*
+     * A 5xx, a timeout or any I/O error (refused, reset, EOF, broken pipe) says something
+     * about the host. A 4xx is the caller's problem: retrying it wastes budget and must not
+     * open the breaker. Our own CircuitOpenException and non-I/O errors (a handler bug, an
+     * interrupt) say nothing about the host either.
+     */
+    static boolean isFailure(Throwable error) {
+        if (error instanceof HttpStatusException status) {
+            return status.statusCode() >= 500;
+        }
+        if (error instanceof CircuitOpenException) {
+            return false;
+        }
+        return error instanceof IOException || error instanceof TimeoutException;
+    }
+
+    private static boolean isIdempotent(HttpRequest request) {
+        return request.method().equals("GET") || request.method().equals("HEAD");
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
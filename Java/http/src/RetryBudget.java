@@ -0,0 +1,40 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries (and hedges) at a fraction of normal traffic. Every request
+ * deposits ratio of a token, every retry withdraws a whole one, and the balance
+ * is bounded, so when a dependency degrades the extra load it sees stays at
+ * roughly ratio x traffic instead of multiplying by the attempt count.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1_000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, add) -> Math.min(maxBalance, current + add));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double tokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
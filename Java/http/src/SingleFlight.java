@@ -0,0 +1,101 @@
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent calls for the same key into one upstream call. The first
+ * caller for a key runs the loader; everyone arriving while it is in flight
+ * waits for and shares that result. Nothing is kept once the call completes,
+ * so this is coalescing, not caching.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        requests.increment();
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            // copy() so one waiter cancelling or completing its future cannot affect the others.
+            return existing.copy();
+        }
+        upstreamCalls.increment();
+        CompletableFuture<V> upstream;
+        try {
+            upstream = loader.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((value, error) -> {
+            inFlight.remove(key, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(value);
+            }
+        });
+        return leader.copy();
+    }
+
+    public V call(K key, Callable<V> loader) throws Exception {
+        requests.increment();
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            return await(existing);
+        }
+        upstreamCalls.increment();
+        try {
+            V value = loader.call();
+            inFlight.remove(key, leader);
+            leader.complete(value);
+            return value;
+        } catch (Throwable t) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long upstreamCalls() {
+        return upstreamCalls.sum();
+    }
+
+    public long requestsSaved() {
+        return requests() - upstreamCalls();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlight[requests=" + requests() + ", upstreamCalls=" + upstreamCalls()
+                + ", saved=" + requestsSaved() + ", inFlight=" + inFlight() + "]";
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
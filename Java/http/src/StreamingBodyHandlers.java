@@ -0,0 +1,203 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Body handlers that consume a response chunk by chunk as it arrives instead of
+ * materializing it, so memory use stays constant regardless of body size.
+ */
+public final class StreamingBodyHandlers {
+
+    private StreamingBodyHandlers() {
+    }
+
+    /** Hands every received buffer to the sink; the body is the total byte count. */
+    public static HttpResponse.BodyHandler<Long> ofByteChunks(Consumer<ByteBuffer> sink) {
+        return info -> new ChunkSubscriber<>() {
+            private long total;
+
+            @Override
+            void onChunk(ByteBuffer chunk) {
+                total += chunk.remaining();
+                sink.accept(chunk);
+            }
+
+            @Override
+            Long finish() {
+                return total;
+            }
+        };
+    }
+
+    /** Writes the raw bytes straight into a FileChannel, no char decoding. */
+    public static HttpResponse.BodyHandler<Path> ofFileChannel(Path target) {
+        return info -> new FileChannelSubscriber(target);
+    }
+
+    /** Emits each line (without its terminator) as soon as it is complete. */
+    public static HttpResponse.BodyHandler<Long> ofLines(Consumer<String> sink) {
+        return info -> new LineSubscriber(sink);
+    }
+
+    /** Tokenizes a JSON body incrementally. */
+    public static HttpResponse.BodyHandler<Void> ofJsonTokens(Consumer<JsonTokenizer.Token> sink) {
+        return info -> {
+            JsonTokenizer tokenizer = new JsonTokenizer(sink);
+            return new ChunkSubscriber<>() {
+                @Override
+                void onChunk(ByteBuffer chunk) {
+                    tokenizer.feed(chunk);
+                }
+
+                @Override
+                Void finish() {
+                    tokenizer.finish();
+                    return null;
+                }
+            };
+        };
+    }
+
+    private abstract static class ChunkSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+        private final CompletableFuture<T> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        abstract void onChunk(ByteBuffer chunk) throws IOException;
+
+        abstract T finish() throws IOException;
+
+        void cleanup() {
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    onChunk(buffer);
+                }
+                subscription.request(1);
+            } catch (IOException | RuntimeException e) {
+                subscription.cancel();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            cleanup();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                body.complete(finish());
+            } catch (IOException | RuntimeException e) {
+                body.completeExceptionally(e);
+            } finally {
+                cleanup();
+            }
+        }
+    }
+
+    private static final class FileChannelSubscriber extends ChunkSubscriber<Path> {
+        private final Path target;
+        private FileChannel channel;
+
+        FileChannelSubscriber(Path target) {
+            this.target = target;
+        }
+
+        @Override
+        void onChunk(ByteBuffer chunk) throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+
+        @Override
+        Path finish() throws IOException {
+            if (channel == null) {
+                onChunk(ByteBuffer.allocate(0));
+            }
+            return target;
+        }
+
+        @Override
+        void cleanup() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static final class LineSubscriber extends ChunkSubscriber<Long> {
+        private final Consumer<String> sink;
+        // Holds the bytes of a line that spans chunk boundaries.
+        private final ByteArrayOutputStream partial = new ByteArrayOutputStream(256);
+        private long lines;
+
+        LineSubscriber(Consumer<String> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        void onChunk(ByteBuffer chunk) {
+            while (chunk.hasRemaining()) {
+                byte b = chunk.get();
+                if (b == '\n') {
+                    emit();
+                } else {
+                    partial.write(b);
+                }
+            }
+        }
+
+        @Override
+        Long finish() {
+            if (partial.size() > 0) {
+                emit();
+            }
+            return lines;
+        }
+
+        private void emit() {
+            byte[] bytes = partial.toByteArray();
+            int length = bytes.length;
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+            partial.reset();
+            lines++;
+            sink.accept(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import java.net.MalformedURLException;
-import java.net.URL;
+import java.net.URI;
+import java.net.URISyntaxException;
 
 public class URLExtractor {
 
@@ -13,26 +14,106 @@ public class URLExtractor {
         try {
             String newUrl = buildNewUrl(urlString, path);
             System.out.println("newUrl: " + newUrl);
+            System.out.println("relative: " + buildNewUrl("https://example.com:443/a/b/page.html", "../img/logo.png"));
         } catch (MalformedURLException e) {
             System.err.println("Error: The URL '" + urlString + "' is not valid. " + e.getMessage());
         }
     }
 
-    private static String buildNewUrl(String urlString, String path) throws MalformedURLException {
-        if(path.startsWith("http"))
-            return path;
-        URL url = new URL(urlString);
-        StringBuilder newUrl = new StringBuilder();
+    /**
+     * Resolves path against urlString the way a browser resolves an href:
+     * absolute URLs pass through, "/x" replaces the path, "x", "../x", "?q" and
+     * "#f" are relative to the base. A port equal to the scheme's default is dropped.
+     */
+    public static String buildNewUrl(String urlString, String path) throws MalformedURLException {
+        try {
+            URI base = new URI(urlString);
+            if (base.getRawPath() == null || base.getRawPath().isEmpty()) {
+                // URI.resolve mishandles an empty base path ("http://a" + "b" -> "http://ab").
+                base = new URI(join(base.getScheme(), base.getRawAuthority(), "/", base.getRawQuery(), null));
+            }
+            String reference = path.trim();
+            URI resolved = reference.startsWith("?")
+                    // URI.resolve also drops the last segment for a query-only reference.
+                    ? base.resolve(new URI(base.getRawPath() + reference))
+                    : base.resolve(new URI(reference));
+            Authority authority = resolved.getScheme() == null ? null : authority(resolved);
+            if (authority == null) {
+                throw new MalformedURLException("Cannot resolve '" + path + "' against '" + urlString + "'");
+            }
+            if (authority.port() == -1 || authority.port() != defaultPort(resolved.getScheme())) {
+                return resolved.toString();
+            }
+            String userInfo = authority.userInfo() == null ? "" : authority.userInfo() + "@";
+            return join(resolved.getScheme(), userInfo + authority.host(), resolved.getRawPath(),
+                    resolved.getRawQuery(), resolved.getRawFragment());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            MalformedURLException malformed = new MalformedURLException(e.getMessage());
+            malformed.initCause(e);
+            throw malformed;
+        }
+    }
 
-        newUrl.append(url.getProtocol()).append("://")
-              .append(url.getHost());
+    /*
+     * Reassembles a URI from components that are already escaped. The multi-argument
+     * URI constructors would quote every '%' again and turn %20 into %2520.
+     */
+    private static String join(String scheme, String rawAuthority, String rawPath, String rawQuery, String rawFragment) {
+        StringBuilder url = new StringBuilder(scheme).append(':');
+        if (rawAuthority != null) {
+            url.append("//").append(rawAuthority);
+        }
+        if (rawPath != null) {
+            url.append(rawPath);
+        }
+        if (rawQuery != null) {
+            url.append('?').append(rawQuery);
+        }
+        if (rawFragment != null) {
+            url.append('#').append(rawFragment);
+        }
+        return url.toString();
+    }
 
-        int port = url.getPort();
-        if (port != -1  && port != 443) {
-            newUrl.append(":").append(port);
+    /** The host of url, including names such as "my_host" that java.net.URI will not parse as a host. */
+    static String host(URI url) {
+        Authority authority = authority(url);
+        return authority == null ? null : authority.host();
+    }
+
+    private record Authority(String userInfo, String host, int port) {
+    }
+
+    // URI falls back to a registry-based authority, with no host or port, for names containing '_'.
+    private static Authority authority(URI url) {
+        if (url.getHost() != null) {
+            return new Authority(url.getRawUserInfo(), url.getHost(), url.getPort());
         }
-        newUrl.append(path);
+        String raw = url.getRawAuthority();
+        if (raw == null) {
+            return null;
+        }
+        int at = raw.lastIndexOf('@');
+        String userInfo = at < 0 ? null : raw.substring(0, at);
+        String hostPort = raw.substring(at + 1);
+        int colon = hostPort.lastIndexOf(':');
+        int port = -1;
+        if (colon >= 0) {
+            try {
+                port = Integer.parseInt(hostPort.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            hostPort = hostPort.substring(0, colon);
+        }
+        return hostPort.isEmpty() ? null : new Authority(userInfo, hostPort, port);
+    }
 
-        return newUrl.toString();
+    static int defaultPort(String scheme) {
+        return switch (scheme.toLowerCase()) {
+            case "http" -> 80;
+            case "https" -> 443;
+            default -> -1;
+        };
     }
 }
@@ -0,0 +1,154 @@
+import java.net.MalformedURLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fast path for URLExtractor.buildNewUrl when the same few base URLs are joined
+ * with many paths. Each base is parsed once into an immutable Base holding the
+ * precomputed prefixes, so the common joins ("/a.js", "img/b.png", "?v=2") are
+ * a single String.concat. Anything needing dot-segment removal or a malformed
+ * base falls back to buildNewUrl, so for well-formed input the results match
+ * it exactly; UrlJoinerTest checks this over a table of bases and references,
+ * escapes and default ports included. Unlike buildNewUrl, the fast path does
+ * not validate characters.
+ */
+public final class UrlJoiner {
+    private static final int MAX_CACHED_BASES = 4096;
+    private static final ConcurrentHashMap<String, Base> BASES = new ConcurrentHashMap<>();
+
+    /**
+     * origin:    "scheme://authority" with a default port removed
+     * directory: origin + path up to and including its last '/'
+     * document:  origin + path, no query or fragment
+     * page:      origin + path + "?" + query, no fragment
+     */
+    record Base(String origin, String directory, String document, String page) {
+    }
+
+    private UrlJoiner() {
+    }
+
+    public static String join(String baseUrl, String path) throws MalformedURLException {
+        if (path.isEmpty() || path.startsWith("//") || hasDotSegment(path)) {
+            return URLExtractor.buildNewUrl(baseUrl, path);
+        }
+        if (hasScheme(path)) {
+            return isNormalized(path) ? path : URLExtractor.buildNewUrl(baseUrl, path);
+        }
+        Base base = base(baseUrl);
+        if (base == null) {
+            return URLExtractor.buildNewUrl(baseUrl, path);
+        }
+        return switch (path.charAt(0)) {
+            case '/' -> base.origin().concat(path);
+            case '?' -> base.document().concat(path);
+            case '#' -> base.page().concat(path);
+            default -> base.directory().concat(path);
+        };
+    }
+
+    static Base base(String baseUrl) {
+        Base base = BASES.get(baseUrl);
+        if (base != null) {
+            return base;
+        }
+        base = parse(baseUrl);
+        if (base != null) {
+            if (BASES.size() >= MAX_CACHED_BASES) {
+                BASES.clear();
+            }
+            BASES.put(baseUrl, base);
+        }
+        return base;
+    }
+
+    // Returns null for anything unusual so the caller falls back to java.net.URI.
+    static Base parse(String url) {
+        int colon = url.indexOf("://");
+        if (colon <= 0) {
+            return null;
+        }
+        String scheme = url.substring(0, colon);
+        int authorityStart = colon + 3;
+        int authorityEnd = authorityEnd(url, authorityStart);
+        if (authorityEnd == authorityStart) {
+            return null;
+        }
+        int queryStart = url.indexOf('?', authorityEnd);
+        int fragmentStart = url.indexOf('#', authorityEnd);
+        int pageEnd = fragmentStart < 0 ? url.length() : fragmentStart;
+        if (queryStart > pageEnd) {
+            queryStart = -1;
+        }
+        int pathEnd = queryStart < 0 ? pageEnd : queryStart;
+        String path = url.substring(authorityEnd, pathEnd);
+        if (path.isEmpty()) {
+            path = "/";
+        }
+        if (hasDotSegment(path)) {
+            return null;
+        }
+
+        int portSeparator = defaultPortSeparator(url, colon, authorityStart, authorityEnd);
+        String authority = url.substring(authorityStart, portSeparator >= 0 ? portSeparator : authorityEnd);
+        String origin = scheme + "://" + authority;
+        String document = origin + path;
+        String directory = origin + path.substring(0, path.lastIndexOf('/') + 1);
+        String page = queryStart < 0 ? document : document + url.substring(queryStart, pageEnd);
+        return new Base(origin, directory, document, page);
+    }
+
+    // An absolute reference can be returned untouched unless it spells out a default port.
+    private static boolean isNormalized(String url) {
+        int colon = url.indexOf("://");
+        if (colon <= 0) {
+            return false;
+        }
+        int authorityStart = colon + 3;
+        return defaultPortSeparator(url, colon, authorityStart, authorityEnd(url, authorityStart)) < 0;
+    }
+
+    private static int authorityEnd(String url, int from) {
+        int end = from;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return end;
+    }
+
+    // Index in url of the ':' before a redundant (default or empty) port, or -1. Works on offsets, no substrings.
+    private static int defaultPortSeparator(String url, int schemeEnd, int authorityStart, int authorityEnd) {
+        int separator = url.lastIndexOf(':', authorityEnd - 1);
+        if (separator < authorityStart || url.lastIndexOf(']', authorityEnd - 1) > separator
+                || url.lastIndexOf('@', authorityEnd - 1) > separator) {
+            return -1;
+        }
+        int portLength = authorityEnd - separator - 1;
+        if (portLength == 0) {
+            return separator;
+        }
+        if (schemeEnd == 4 && url.regionMatches(true, 0, "http", 0, 4)) {
+            return portLength == 2 && url.startsWith("80", separator + 1) ? separator : -1;
+        }
+        if (schemeEnd == 5 && url.regionMatches(true, 0, "https", 0, 5)) {
+            return portLength == 3 && url.startsWith("443", separator + 1) ? separator : -1;
+        }
+        return -1;
+    }
+
+    private static boolean hasScheme(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == ':') {
+                return i > 0;
+            }
+            if (!(Character.isLetterOrDigit(c) || c == '+' || c == '-' || c == '.')) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasDotSegment(String path) {
+        return path.startsWith(".") || path.contains("/.");
+    }
+}
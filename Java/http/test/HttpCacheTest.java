@@ -0,0 +1,181 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+class HttpCacheTest {
+    private static final byte[] BODY = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void maxAgeResponseIsServedFreshUntilItExpires() {
+        HttpCache cache = new HttpCache(1024);
+        cache.store("fresh", 200, Map.of("Cache-Control", List.of("max-age=60")), BODY);
+        cache.store("stale", 200, Map.of("Cache-Control", List.of("max-age=0"), "ETag", List.of("\"v1\"")), BODY);
+
+        assertTrue(cache.get("fresh").isFresh(System.currentTimeMillis()));
+        assertFalse(cache.get("stale").isFresh(System.currentTimeMillis()));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void noCacheIsStoredOnlyForRevalidation() {
+        HttpCache cache = new HttpCache(1024);
+        cache.store("validated", 200, Map.of("cache-control", List.of("no-cache, max-age=60"),
+                "last-modified", List.of("Mon, 01 Jan 2024 00:00:00 GMT")), BODY);
+        cache.store("bare", 200, Map.of("Cache-Control", List.of("no-cache")), BODY);
+
+        HttpCache.Entry validated = cache.get("validated");
+        assertFalse(validated.isFresh(System.currentTimeMillis()));
+        assertTrue(validated.canRevalidate());
+        assertNull(cache.get("bare"));
+    }
+
+    @Test
+    void notModifiedKeepsTheBodyAndRefreshesTheLifetime() {
+        HttpCache cache = new HttpCache(1024);
+        cache.store("k", 200, Map.of("Cache-Control", List.of("max-age=0"), "ETag", List.of("\"v1\"")), BODY);
+        HttpCache.Entry stale = cache.get("k");
+
+        HttpCache.Entry refreshed = cache.notModified("k", stale,
+                Map.of("Cache-Control", List.of("max-age=60"), "ETag", List.of("\"v2\"")));
+
+        assertArrayEquals(BODY, refreshed.body());
+        assertEquals("\"v2\"", refreshed.etag());
+        assertTrue(cache.get("k").isFresh(System.currentTimeMillis()));
+        assertEquals(1, cache.revalidations());
+    }
+
+    @Test
+    void noStoreEvictsAndIsNotCountedAsAMiss() {
+        HttpCache cache = new HttpCache(1024);
+        cache.store("k", 200, Map.of("Cache-Control", List.of("max-age=60")), BODY);
+
+        cache.store("k", 200, Map.of("Cache-Control", List.of("private, no-store")), BODY);
+        cache.store("other", 200, Map.of("Cache-Control", List.of("no-store")), BODY);
+        cache.store("missing", 404, Map.of("Cache-Control", List.of("max-age=60")), BODY);
+
+        assertNull(cache.get("k"));
+        assertNull(cache.get("other"));
+        assertNull(cache.get("missing"));
+        // The first store and the one that replaced it; the uncacheable first fetches are not misses.
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void responsesCarryingVaryAreNotStored() {
+        HttpCache cache = new HttpCache(1024);
+        cache.store("k", 200, Map.of("Cache-Control", List.of("max-age=60")), BODY);
+
+        cache.store("k", 200, Map.of("Cache-Control", List.of("max-age=60"), "Vary", List.of("Accept-Language")),
+                BODY);
+
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void memoryEvictionSpillsToDiskAndAHitPromotesBack(@TempDir Path dir) {
+        HttpCache cache = new HttpCache(15, dir, 1024);
+        Map<String, List<String>> cacheable = Map.of("Cache-Control", List.of("max-age=60"));
+        cache.store("a", 200, cacheable, BODY);
+        cache.store("b", 200, cacheable, BODY);
+
+        assertTrue(cache.toString().contains("memoryBytes=10,"), cache.toString());
+        assertTrue(cache.toString().contains("diskBytes="), cache.toString());
+        assertFalse(cache.toString().contains("diskBytes=0]"), "a spilled to disk: " + cache);
+
+        HttpCache.Entry promoted = cache.get("a");
+        assertArrayEquals(BODY, promoted.body());
+        assertTrue(promoted.isFresh(System.currentTimeMillis()));
+        // Promoting a pushed b, now the least recently used, out to disk.
+        assertArrayEquals(BODY, cache.get("b").body());
+        assertEquals(2, cache.hits());
+    }
+
+    @Test
+    void diskTierIsBoundedAndEvictsTheLeastRecentlyUsed(@TempDir Path dir) {
+        // An entry file is 45 bytes with this key and body, so only one fits.
+        HttpCache cache = new HttpCache(0, dir, 60);
+        Map<String, List<String>> cacheable = Map.of("Cache-Control", List.of("max-age=60"));
+        cache.store("a", 200, cacheable, BODY);
+        cache.store("b", 200, cacheable, BODY);
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    void diskIndexIsReloadedByANewCache(@TempDir Path dir) {
+        HttpCache first = new HttpCache(0, dir, 1024);
+        first.store("k", 200, Map.of("Cache-Control", List.of("max-age=60"), "ETag", List.of("\"v1\"")), BODY);
+
+        HttpCache second = new HttpCache(1024, dir, 1024);
+        HttpCache.Entry entry = second.get("k");
+
+        assertArrayEquals(BODY, entry.body());
+        assertEquals("\"v1\"", entry.etag());
+        assertTrue(entry.isFresh(System.currentTimeMillis()));
+        assertNull(second.get("unknown"));
+    }
+
+    @Test
+    void clientRevalidatesAStaleEntryWithItsETag() throws Exception {
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=0");
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                full.incrementAndGet();
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BODY);
+                }
+            }
+        });
+        server.start();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+            HttpClientImpl http = new HttpClientImpl(client, executor);
+            HttpCache cache = new HttpCache(1024);
+            http.setCache(cache);
+            String uri = "http://127.0.0.1:" + server.getAddress().getPort() + "/doc";
+
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(BODY, http.fetch(uri));
+            }
+
+            assertEquals(1, full.get());
+            assertEquals(2, notModified.get());
+            assertEquals(1, cache.misses());
+            assertEquals(2, cache.revalidations());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class HttpClientImplTest {
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    private final ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private HttpServer server;
+    private HttpClientImpl http;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            try (exchange) {
+                String path = exchange.getRequestURI().getPath();
+                sleep(path.startsWith("/slow") ? 300 : 30);
+                respond(exchange, path.startsWith("/error") ? 500 : 200, path);
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        server.start();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads).build();
+        http = new HttpClientImpl(client, clientThreads);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        clientThreads.shutdownNow();
+    }
+
+    @Test
+    void neverHasMoreThanTheWindowInFlight() throws Exception {
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            uris.add(uri("/page" + i));
+        }
+        List<HttpClientImpl.Result> results = new CopyOnWriteArrayList<>();
+
+        http.sendAll(uris, 3, results::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, maxActive.get());
+        assertEquals(12, results.size());
+        assertEquals(uris.stream().sorted().toList(), results.stream().map(HttpClientImpl.Result::uri).sorted().toList());
+        for (HttpClientImpl.Result result : results) {
+            assertTrue(result.isSuccess());
+            assertEquals(URI.create(result.uri()).getPath(), result.response().body());
+        }
+    }
+
+    @Test
+    void resultsArriveInCompletionOrder() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        http.sendAll(List.of(uri("/slow"), uri("/fast")), 2, result -> order.add(result.uri()))
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(uri("/fast"), uri("/slow")), order);
+    }
+
+    @Test
+    void failuresAreReportedPerUriAndTheRestStillRun() throws Exception {
+        String refused;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            refused = "http://127.0.0.1:" + closed.getLocalPort() + "/";
+        }
+        List<String> uris = List.of("not a uri", refused, uri("/error"), uri("/ok"));
+        Map<String, HttpClientImpl.Result> results = new ConcurrentHashMap<>();
+
+        http.sendAll(uris, 1, result -> results.put(result.uri(), result)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, results.size());
+        assertInstanceOf(IllegalArgumentException.class, results.get("not a uri").error());
+        assertInstanceOf(IOException.class, unwrap(results.get(refused).error()));
+        // A response is a result, whatever its status; only exchanges that fail carry an error.
+        assertEquals(500, results.get(uri("/error")).response().statusCode());
+        assertEquals(200, results.get(uri("/ok")).response().statusCode());
+    }
+
+    @Test
+    void failingCallbackDoesNotStallTheFanOut() throws Exception {
+        List<String> uris = List.of(uri("/a"), uri("/b"), uri("/c"));
+        AtomicInteger calls = new AtomicInteger();
+
+        http.sendAll(uris, 1, result -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("callback failed");
+        }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void emptyListCompletesAndANonPositiveWindowIsRejected() {
+        assertTrue(http.sendAll(List.of(), 4, result -> { }).isDone());
+        assertThrows(IllegalArgumentException.class, () -> http.sendAll(List.of(uri("/a")), 0, result -> { }));
+    }
+
+    private String uri(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class HttpUrlConnectionImpTest {
+    private static final byte[] TEXT = "hello, compressed world. ".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private final List<String> acceptEncodings = new ArrayList<>();
+    private final List<Integer> clientPorts = new ArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> respond(exchange, 200, "gzip", gzip(TEXT)));
+        server.createContext("/zlib", exchange -> respond(exchange, 200, "deflate", deflate(TEXT, false)));
+        server.createContext("/raw-deflate", exchange -> respond(exchange, 200, "deflate", deflate(TEXT, true)));
+        server.createContext("/plain", exchange -> respond(exchange, 200, null, TEXT));
+        server.createContext("/empty-gzip", exchange -> respond(exchange, 200, "gzip", new byte[0]));
+        server.createContext("/no-content-gzip", exchange -> respond(exchange, 204, "gzip", new byte[0]));
+        server.createContext("/error", exchange -> respond(exchange, 500, null, "x".repeat(5000).getBytes()));
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void gzipBodyIsDecoded() throws IOException {
+        assertArrayEquals(TEXT, new HttpUrlConnectionImp().fetch(url("/gzip")));
+        assertEquals("gzip, deflate", acceptEncodings.get(0));
+    }
+
+    @Test
+    void zlibWrappedDeflateIsDecoded() throws IOException {
+        assertArrayEquals(TEXT, new HttpUrlConnectionImp().fetch(url("/zlib")));
+    }
+
+    @Test
+    void rawDeflateIsDecoded() throws IOException {
+        assertArrayEquals(TEXT, new HttpUrlConnectionImp().fetch(url("/raw-deflate")));
+    }
+
+    @Test
+    void unencodedBodyIsPassedThrough() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(TEXT.length, new HttpUrlConnectionImp().copyTo(url("/plain"), out));
+        assertArrayEquals(TEXT, out.toByteArray());
+    }
+
+    @Test
+    void emptyBodyLabelledGzipIsNotDecoded() throws IOException {
+        assertArrayEquals(new byte[0], new HttpUrlConnectionImp().fetch(url("/empty-gzip")));
+        assertArrayEquals(new byte[0], new HttpUrlConnectionImp().fetch(url("/no-content-gzip")));
+    }
+
+    @Test
+    void connectionIsReusedAfterAnErrorBodyIsDrained() throws IOException {
+        HttpUrlConnectionImp http = new HttpUrlConnectionImp();
+        HttpStatusException error = assertThrows(HttpStatusException.class, () -> http.fetch(url("/error")));
+        assertEquals(500, error.statusCode());
+
+        assertArrayEquals(TEXT, http.fetch(url("/plain")));
+        assertArrayEquals(TEXT, http.fetch(url("/gzip")));
+
+        assertEquals(3, clientPorts.size());
+        assertEquals(1, clientPorts.stream().distinct().count(), "one keep-alive connection: " + clientPorts);
+    }
+
+    private URL url(String path) throws IOException {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path).toURL();
+    }
+
+    private void respond(HttpExchange exchange, int status, String encoding, byte[] body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            synchronized (this) {
+                acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+            }
+            if (encoding != null) {
+                exchange.getResponseHeaders().add("Content-Encoding", encoding);
+            }
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(data);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,82 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonTokenizerTest {
+    private static final String DOCUMENT =
+            "{\"name\":\"caf\\u00e9 \\\"x\\\"\",\"n\":[-12.5e+3,0,true,false,null],\"nested\":{\"k\":\"v\u00e9\"}}";
+
+    @Test
+    void tokenizesAWholeDocument() {
+        List<String> tokens = tokenize(DOCUMENT.getBytes(StandardCharsets.UTF_8), Integer.MAX_VALUE);
+        assertEquals(List.of("BEGIN_OBJECT {", "NAME name", "STRING caf\u00e9 \"x\"", "NAME n", "BEGIN_ARRAY [",
+                "NUMBER -12.5e+3", "NUMBER 0", "TRUE true", "FALSE false", "NULL null", "END_ARRAY ]",
+                "NAME nested", "BEGIN_OBJECT {", "NAME k", "STRING v\u00e9", "END_OBJECT }", "END_OBJECT }"), tokens);
+    }
+
+    @Test
+    void splittingTheInputAnywhereGivesTheSameTokens() {
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        List<String> whole = tokenize(bytes, Integer.MAX_VALUE);
+        for (int split = 1; split < bytes.length; split++) {
+            TokenSink sink = new TokenSink();
+            JsonTokenizer tokenizer = new JsonTokenizer(sink);
+            tokenizer.feed(ByteBuffer.wrap(bytes, 0, split));
+            tokenizer.feed(ByteBuffer.wrap(bytes, split, bytes.length - split));
+            tokenizer.finish();
+            assertEquals(whole, sink.tokens, "split at " + split);
+        }
+        assertEquals(whole, tokenize(bytes, 1));
+    }
+
+    @Test
+    void numberAtTheEndOfTheInputIsEmittedOnFinish() {
+        assertEquals(List.of("NUMBER 42"), tokenize("42".getBytes(StandardCharsets.US_ASCII), 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "[tru]", "[abc]", "[1e]", "[01]", "[-]", "[1.]", "[.5]", "[1e+]", "[nul]" })
+    void rejectsLiteralsThatAreNotJson(String json) {
+        assertThrows(IllegalStateException.class, () -> tokenize(json.getBytes(StandardCharsets.US_ASCII), 3));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "[\"\\u12\"]", "[\"\\u\"]", "[\"\\uzzzz\"]" })
+    void rejectsBrokenUnicodeEscapes(String json) {
+        assertThrows(IllegalStateException.class, () -> tokenize(json.getBytes(StandardCharsets.US_ASCII), 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "{\"a\":1", "[\"open", "[1,2]]", "{]" })
+    void rejectsTruncatedOrUnbalancedDocuments(String json) {
+        assertThrows(IllegalStateException.class, () -> tokenize(json.getBytes(StandardCharsets.US_ASCII), 2));
+    }
+
+    private static List<String> tokenize(byte[] bytes, int chunkSize) {
+        TokenSink sink = new TokenSink();
+        JsonTokenizer tokenizer = new JsonTokenizer(sink);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            tokenizer.feed(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)));
+        }
+        tokenizer.finish();
+        return sink.tokens;
+    }
+
+    private static final class TokenSink implements Consumer<JsonTokenizer.Token> {
+        final List<String> tokens = new ArrayList<>();
+
+        @Override
+        public void accept(JsonTokenizer.Token token) {
+            tokens.add(token.type() + " " + token.text());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.sun.net.httpserver.HttpServer;
+
+class LinkCrawlerTest {
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private String origin;
+
+    @ParameterizedTest
+    @CsvSource({ "0, 5, 4", "10, 5, 0", "-1, 5, 4", "10, -1, 4" })
+    void configRejectsLimitsThatCannotMakeProgress(int maxPages, int maxDepth, int perHost) {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LinkCrawler.Config(maxPages, maxDepth, perHost, Duration.ZERO, true));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "-1" })
+    void configRejectsNegativeDelay(long millis) {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LinkCrawler.Config(10, 5, 4, Duration.ofMillis(millis), true));
+    }
+
+    /*
+     * /a links to /b twice (absolute and relative), to itself, to /c and, under the
+     * "localhost" name for the same server, to /d. /b links back to /a and to /c; /c to /e.
+     */
+    @BeforeEach
+    void startSite() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        int port = server.getAddress().getPort();
+        origin = "http://127.0.0.1:" + port;
+        Map<String, String> pages = Map.of(
+                "/a", links("/b", "b", "/a", "c", "http://localhost:" + port + "/d"),
+                "/b", links("/a", "/c"),
+                "/c", links("e"),
+                "/d", links(),
+                "/e", links());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            String page = pages.get(path);
+            if (page == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = page.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopSite() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchesEachSameHostPageOnce() throws Exception {
+        LinkCrawler.Result result = crawl(new LinkCrawler.Config(100, 10, 2, Duration.ZERO, true));
+
+        assertEquals(4, result.pages());
+        assertEquals(Map.of("/a", 1, "/b", 1, "/c", 1, "/e", 1), fetched());
+        assertEquals(0, result.failures());
+        assertTrue(result.duplicates() >= 3, "duplicates=" + result.duplicates());
+    }
+
+    @Test
+    void followsOtherHostsWhenAllowed() throws Exception {
+        LinkCrawler.Result result = crawl(new LinkCrawler.Config(100, 10, 2, Duration.ZERO, false));
+
+        assertEquals(5, result.pages());
+        assertEquals(1, fetched().get("/d"));
+    }
+
+    @Test
+    void stopsAtThePageCap() throws Exception {
+        LinkCrawler.Result result = crawl(new LinkCrawler.Config(2, 10, 2, Duration.ZERO, true));
+
+        assertEquals(2, result.pages());
+        assertEquals(2, fetched().values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void depthZeroFetchesOnlyTheSeed() throws Exception {
+        LinkCrawler.Result result = crawl(new LinkCrawler.Config(100, 0, 2, Duration.ZERO, true));
+
+        assertEquals(1, result.pages());
+        assertEquals(Map.of("/a", 1), fetched());
+    }
+
+    private LinkCrawler.Result crawl(LinkCrawler.Config config) throws Exception {
+        return new LinkCrawler(new HttpClientImpl(), config).crawl(origin + "/a");
+    }
+
+    private Map<String, Integer> fetched() {
+        Map<String, Integer> fetched = new ConcurrentHashMap<>();
+        hits.forEach((path, count) -> fetched.put(path, count.get()));
+        return fetched;
+    }
+
+    private static String links(String... hrefs) {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (String href : hrefs) {
+            html.append("<a href=\"").append(href).append("\">").append(href).append("</a>");
+        }
+        return html.append("</body></html>").toString();
+    }
+}
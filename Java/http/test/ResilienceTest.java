@@ -0,0 +1,257 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ResilienceTest {
+    private static final Resilience.Policy POLICY =
+            new Resilience.Policy(Duration.ofSeconds(1), 3, Duration.ofMillis(1), 0.1, false, 2, Duration.ofSeconds(10));
+    private static final Resilience.Policy HEDGED =
+            new Resilience.Policy(Duration.ofSeconds(10), 1, Duration.ofMillis(1), 0.5, true, 5, Duration.ofSeconds(10));
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ExecutorService serverThreads = Executors.newCachedThreadPool();
+    private HttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+        serverThreads.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 400, 401, 403, 404, 429 })
+    void clientErrorsAreNeitherRetriedNorCountedAgainstTheHost(int status) {
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpStatusException.class, () -> resilience.call("h", true, () -> {
+                attempts.incrementAndGet();
+                throw new HttpStatusException(status, "http://h/");
+            }));
+        }
+        assertEquals(5, attempts.get());
+        assertEquals(0, resilience.retries());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.circuit("h"));
+    }
+
+    @Test
+    void serverErrorsAreRetriedAndOpenTheBreaker() {
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+        AtomicInteger attempts = new AtomicInteger();
+        // The breaker (threshold 2) opens after the second attempt, so the third is refused.
+        assertThrows(Resilience.CircuitOpenException.class, () -> resilience.call("h", true, () -> {
+            attempts.incrementAndGet();
+            throw new HttpStatusException(503, "http://h/");
+        }));
+        assertEquals(2, attempts.get());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuit("h"));
+        assertThrows(Resilience.CircuitOpenException.class, () -> resilience.call("h", true, () -> "unreached"));
+    }
+
+    @Test
+    void connectFailuresAreRetriedUntilOneSucceeds() throws Exception {
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+        AtomicInteger attempts = new AtomicInteger();
+        String value = resilience.call("h", true, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ConnectException("refused");
+            }
+            return "ok";
+        });
+        assertEquals("ok", value);
+        assertEquals(1, resilience.retries());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.circuit("h"));
+    }
+
+    @Test
+    void droppedConnectionsAreRetriedForIdempotentCalls() throws Exception {
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+        AtomicInteger attempts = new AtomicInteger();
+        String value = resilience.call("h", true, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Connection reset");
+            }
+            return "ok";
+        });
+        assertEquals("ok", value);
+        assertEquals(1, resilience.retries());
+    }
+
+    @Test
+    void droppedConnectionsCountAgainstTheHostEvenWhenNotRetried() {
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(EOFException.class, () -> resilience.call("h", false, () -> {
+                throw new EOFException("EOF reached while reading");
+            }));
+        }
+        assertEquals(0, resilience.retries());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuit("h"));
+    }
+
+    @Test
+    void failedTrialReopensAHalfOpenBreaker() throws Exception {
+        Resilience.Policy quickCooldown =
+                new Resilience.Policy(Duration.ofSeconds(1), 1, Duration.ofMillis(1), 0.1, false, 1, Duration.ofMillis(20));
+        Resilience resilience = new Resilience(quickCooldown, Runnable::run);
+        assertThrows(HttpStatusException.class, () -> resilience.call("h", true, () -> {
+            throw new HttpStatusException(503, "http://h/");
+        }));
+        Thread.sleep(40);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, resilience.circuit("h"));
+        assertThrows(IOException.class, () -> resilience.call("h", true, () -> {
+            throw new IOException("Broken pipe");
+        }));
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuit("h"));
+    }
+
+    @Test
+    void sendRetriesAServerErrorOnGet() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        URI uri = serve(exchange -> respond(exchange, hits.incrementAndGet() == 1 ? 503 : 200, "ok"));
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+
+        HttpResponse<String> response = resilience.send(client, HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, hits.get());
+        assertEquals(1, resilience.retries());
+    }
+
+    @Test
+    void sendDoesNotRetryAPost() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        URI uri = serve(exchange -> respond(exchange, hits.incrementAndGet() == 1 ? 503 : 200, "ok"));
+        Resilience resilience = new Resilience(POLICY, Runnable::run);
+
+        HttpResponse<String> response = resilience.send(client,
+                HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString("x")).build(),
+                HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(503, response.statusCode());
+        assertEquals(1, hits.get());
+        assertEquals(0, resilience.retries());
+    }
+
+    @Test
+    void sendRetriesAGetWhoseConnectionIsDropped() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            serverThreads.execute(() -> {
+                try {
+                    // HttpClient itself re-sends a GET once when the connection closes before a response.
+                    for (int i = 0; i < 2; i++) {
+                        try (Socket dropped = socket.accept()) {
+                            dropped.getInputStream().read();
+                        }
+                    }
+                    try (Socket answered = socket.accept()) {
+                        answered.getInputStream().read();
+                        answered.getOutputStream().write(
+                                "HTTP/1.1 200 OK\r\nContent-Length: 2\r\nConnection: close\r\n\r\nok"
+                                        .getBytes(StandardCharsets.US_ASCII));
+                    }
+                } catch (IOException ignored) {
+                }
+            });
+            URI uri = URI.create("http://127.0.0.1:" + socket.getLocalPort() + "/");
+            Resilience resilience = new Resilience(POLICY, Runnable::run);
+
+            HttpResponse<String> response = resilience.send(client, HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+            assertEquals("ok", response.body());
+            assertEquals(1, resilience.retries());
+            assertEquals(CircuitBreaker.State.CLOSED, resilience.circuit("127.0.0.1"));
+        }
+    }
+
+    @Test
+    void sendHedgesARequestThatOutlivesTheHostsP95() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        URI uri = serve(exchange -> {
+            // Only the first attempt at /stall hangs; its hedge is answered at once.
+            if (exchange.getRequestURI().getPath().equals("/stall") && stalled.compareAndSet(false, true)) {
+                sleep(3_000);
+            }
+            respond(exchange, 200, "ok");
+        });
+        Resilience resilience = new Resilience(HEDGED, Runnable::run);
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        for (int i = 0; i < 40; i++) {
+            resilience.send(client, request, HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+        }
+        // A warm-up request that was slow on a busy machine may have been hedged already.
+        long hedgesBefore = resilience.hedges();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = resilience.send(client, HttpRequest.newBuilder(uri.resolve("/stall")).build(),
+                HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", response.body());
+        assertEquals(hedgesBefore + 1, resilience.hedges());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), "answered by the hedge");
+    }
+
+    private URI serve(Handler handler) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverThreads);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handler.handle(exchange);
+            }
+        });
+        server.start();
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
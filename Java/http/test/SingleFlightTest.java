@@ -0,0 +1,147 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentExecutesShareOneUpstreamCall() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        int callers = 32;
+        CountDownLatch ready = new CountDownLatch(callers);
+        List<Future<CompletableFuture<String>>> results = new ArrayList<>();
+        try (ExecutorService threads = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(threads.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return flights.execute("k", () -> {
+                        loads.incrementAndGet();
+                        return upstream;
+                    });
+                }));
+            }
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<String>> result : results) {
+                futures.add(result.get(5, TimeUnit.SECONDS));
+            }
+            upstream.complete("v");
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("v", future.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(callers, flights.requests());
+        assertEquals(1, flights.upstreamCalls());
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    void nextCallAfterCompletionLoadsAgain() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        flights.call("k", () -> "v" + loads.incrementAndGet());
+        assertEquals("v2", flights.call("k", () -> "v" + loads.incrementAndGet()));
+    }
+
+    @Test
+    void waitersOnBlockingCallSeeTheLeadersFailure() throws Exception {
+        SingleFlight<Key, String> flights = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch waiterJoined = new CountDownLatch(1);
+        try (ExecutorService threads = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = threads.submit(() -> flights.call(new Key("k", null), () -> {
+                leaderStarted.countDown();
+                release.await();
+                throw new IOException("boom");
+            }));
+            leaderStarted.await();
+            Future<String> waiter = threads.submit(() -> flights.call(new Key("k", waiterJoined), () -> "not me"));
+            assertTrue(waiterJoined.await(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertEquals(IOException.class, assertThrows(ExecutionException.class, leader::get).getCause().getClass());
+            assertEquals(IOException.class, assertThrows(ExecutionException.class, waiter::get).getCause().getClass());
+        }
+        assertEquals(1, flights.upstreamCalls());
+    }
+
+    @Test
+    void requestsWithDifferentHeadersAreNotCoalesced() {
+        URI uri = URI.create("http://example.com/a");
+        HttpRequest alice = HttpRequest.newBuilder(uri).header("Authorization", "Bearer alice").build();
+        HttpRequest bob = HttpRequest.newBuilder(uri).header("Authorization", "Bearer bob").build();
+        HttpRequest aliceAgain = HttpRequest.newBuilder(uri).header("Authorization", "Bearer alice").build();
+        assertNotEquals(HttpClientImpl.coalescingKey(alice), HttpClientImpl.coalescingKey(bob));
+        assertEquals(HttpClientImpl.coalescingKey(alice), HttpClientImpl.coalescingKey(aliceAgain));
+    }
+
+    @Test
+    void coalescedFetchHandsOutItsOwnCopyOfTheBody() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+                exchange.sendResponseHeaders(200, 3);
+                exchange.getResponseBody().write("abc".getBytes(StandardCharsets.US_ASCII));
+            }
+        });
+        server.start();
+        try {
+            URL url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/").toURL();
+            HttpUrlConnectionImp http = new HttpUrlConnectionImp(new HttpCache(1024));
+
+            byte[] first = http.fetchCoalesced(url);
+            first[0] = 'x';
+
+            assertArrayEquals("abc".getBytes(StandardCharsets.US_ASCII), http.fetchCoalesced(url));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // The in-flight map compares a caller's key with the leader's only when it finds the flight, so
+    // joined counts down once that caller is committed to waiting for the leader's result.
+    private record Key(String name, CountDownLatch joined) {
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key that) || !name.equals(that.name)) {
+                return false;
+            }
+            if (joined != null) {
+                joined.countDown();
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
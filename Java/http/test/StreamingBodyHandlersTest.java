@@ -0,0 +1,123 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StreamingBodyHandlersTest {
+
+    @Test
+    void linesSplitAcrossChunksAreReassembled() throws Exception {
+        List<String> lines = new ArrayList<>();
+        long count = deliver(StreamingBodyHandlers.ofLines(lines::add), "fir", "st\r\nsec", "ond\n\nthi", "rd");
+
+        assertEquals(List.of("first", "second", "", "third"), lines);
+        assertEquals(4, count);
+    }
+
+    @Test
+    void multiByteCharactersSplitAcrossChunksDecodeOnce() throws Exception {
+        byte[] bytes = "caf\u00e9\n".getBytes(StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        deliver(StreamingBodyHandlers.ofLines(lines::add),
+                ByteBuffer.wrap(bytes, 0, 4), ByteBuffer.wrap(bytes, 4, bytes.length - 4));
+
+        assertEquals(List.of("caf\u00e9"), lines);
+    }
+
+    @Test
+    void jsonTokensSplitAcrossChunksAreEmittedWhole() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        deliver(StreamingBodyHandlers.ofJsonTokens(token -> tokens.add(token.text())),
+                "{\"ke", "y\":[12", "34,tr", "ue]}");
+
+        assertEquals(List.of("{", "key", "[", "1234", "true", "]", "}"), tokens);
+    }
+
+    @Test
+    void malformedJsonFailsTheBodyAndCancelsTheStream() {
+        Subscription subscription = new Subscription();
+        HttpResponse.BodySubscriber<Void> subscriber = StreamingBodyHandlers.ofJsonTokens(token -> { }).apply(null);
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(ByteBuffer.wrap("[tru]".getBytes(StandardCharsets.US_ASCII))));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> subscriber.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertTrue(subscription.cancelled);
+    }
+
+    @Test
+    void byteChunksAreCountedAndPassedThrough() throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        long total = deliver(StreamingBodyHandlers.ofByteChunks(chunk -> sizes.add(chunk.remaining())), "abc", "de");
+
+        assertEquals(5, total);
+        assertEquals(List.of(3, 2), sizes);
+    }
+
+    @Test
+    void fileChannelReceivesTheRawBytes(@TempDir Path directory) throws Exception {
+        Path target = directory.resolve("body.bin");
+        Files.writeString(target, "stale content that is longer");
+
+        Path written = deliver(StreamingBodyHandlers.ofFileChannel(target), "new ", "body");
+
+        assertEquals("new body", Files.readString(written));
+    }
+
+    @Test
+    void emptyBodyStillCreatesTheFile(@TempDir Path directory) throws Exception {
+        Path target = directory.resolve("empty.bin");
+
+        deliver(StreamingBodyHandlers.ofFileChannel(target), new ByteBuffer[0]);
+
+        assertEquals(0, Files.size(target));
+    }
+
+    private static <T> T deliver(HttpResponse.BodyHandler<T> handler, String... chunks) throws Exception {
+        ByteBuffer[] buffers = new ByteBuffer[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            buffers[i] = ByteBuffer.wrap(chunks[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return deliver(handler, buffers);
+    }
+
+    // The handlers ignore the ResponseInfo, so none is needed.
+    private static <T> T deliver(HttpResponse.BodyHandler<T> handler, ByteBuffer... chunks) throws Exception {
+        HttpResponse.BodySubscriber<T> subscriber = handler.apply(null);
+        Subscription subscription = new Subscription();
+        subscriber.onSubscribe(subscription);
+        for (ByteBuffer chunk : chunks) {
+            subscriber.onNext(List.of(chunk));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS);
+    }
+
+    private static final class Subscription implements Flow.Subscription {
+        boolean cancelled;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.MalformedURLException;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class URLExtractorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "https://example.com:443/a/b/page.html, /img/a%20b.png,    https://example.com/img/a%20b.png",
+            "https://example.com:443/a/b/page.html, ../c?d=%2F,        https://example.com/a/c?d=%2F",
+            "https://example.com:443/a/b/page.html, x%2Fy#f%20g,       https://example.com/a/b/x%2Fy#f%20g",
+            "http://a.com:80,                       ?q=%20,            http://a.com/?q=%20",
+            "http://a.com:80/p%20q/r,               s,                 http://a.com/p%20q/s",
+            "http://u%40x@a.com:80/,                b,                 http://u%40x@a.com/b",
+            "http://a.com:8080/x/,                  y%20z,             http://a.com:8080/x/y%20z",
+            "http://a.com,                          b%2Fc,             http://a.com/b%2Fc",
+            "https://example.com/a/b,               https://other.org:443/%41, https://other.org/%41",
+    })
+    void keepsExistingEscapesAndDropsDefaultPorts(String base, String reference, String expected) throws Exception {
+        assertEquals(expected, URLExtractor.buildNewUrl(base, reference));
+    }
+
+    // java.net.URI has no host for names with '_'; java.net.URL, which this used to parse with, accepts them.
+    @ParameterizedTest
+    @CsvSource({
+            "http://my_host.example.com/a/b,  c,       http://my_host.example.com/a/c",
+            "https://my_host:443/a,           /b,      https://my_host/b",
+            "http://u@my_host:80/,            x,       http://u@my_host/x",
+            "http://my_host:8080/a,           b?q=1,   http://my_host:8080/b?q=1",
+            "https://example.com/,            http://my_host/x, http://my_host/x",
+    })
+    void resolvesHostsWithUnderscores(String base, String reference, String expected) throws Exception {
+        assertEquals(expected, URLExtractor.buildNewUrl(base, reference));
+    }
+
+    // Only the scheme's own default port is dropped; 443 on http names a different server.
+    @ParameterizedTest
+    @CsvSource({
+            "https://example.com:443/path, /x, https://example.com/x",
+            "http://example.com:443/path,  /x, http://example.com:443/x",
+            "http://example.com:80/path,   /x, http://example.com/x",
+            "https://example.com:80/path,  /x, https://example.com:80/x",
+    })
+    void dropsOnlyTheSchemesDefaultPort(String base, String reference, String expected) throws Exception {
+        assertEquals(expected, URLExtractor.buildNewUrl(base, reference));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "mailto:someone@example.com, x", "http://a.com, http://" })
+    void rejectsWhatCannotBeResolvedToAnHttpUrl(String base, String reference) {
+        assertThrows(MalformedURLException.class, () -> URLExtractor.buildNewUrl(base, reference));
+    }
+}
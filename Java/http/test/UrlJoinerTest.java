@@ -0,0 +1,36 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class UrlJoinerTest {
+
+    static Stream<Arguments> joins() {
+        String[] bases = {
+                "https://example.com:443/a/b/page.html",
+                "https://example.com/a/b/page.html?x=1#top",
+                "http://a.com:80",
+                "http://a.com",
+                "http://a.com:8080/dir/",
+                "http://u%40x@a.com:80/p%20q/r?s=%2F",
+                "https://[::1]:443/v6/index.html",
+                "http://a.com:/empty-port/x",
+                "https://my_host:443/under_score/x",
+        };
+        String[] references = {
+                "/img/a%20b.png", "img/a%20b.png", "x%2Fy", "?q=%20", "?d=%2F#f", "#frag%20ment",
+                "../c?d=%2F", "./same", "..", "/a/../b", "//cdn.example.com:443/lib.js",
+                "https://other.org:443/%41", "https://other.org/%41", "http://other.org:8080/z",
+        };
+        return Stream.of(bases).flatMap(base -> Stream.of(references).map(reference -> Arguments.of(base, reference)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("joins")
+    void matchesBuildNewUrl(String base, String reference) throws Exception {
+        assertEquals(URLExtractor.buildNewUrl(base, reference), UrlJoiner.join(base, reference));
+    }
+}
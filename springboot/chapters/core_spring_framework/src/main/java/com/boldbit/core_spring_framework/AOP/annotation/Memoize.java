@@ -0,0 +1,25 @@
+package com.boldbit.core_spring_framework.AOP.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches a bean method's result per argument list. Only use it on pure methods:
+ * arguments must have value equality (arrays are compared by content), and a
+ * cached result is returned without running the method again until it expires
+ * or is evicted.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Memoize {
+    int maxSize() default 1024;
+
+    long ttl() default 60;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
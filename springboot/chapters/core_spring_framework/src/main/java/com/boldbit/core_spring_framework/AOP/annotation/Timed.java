@@ -0,0 +1,19 @@
+package com.boldbit.core_spring_framework.AOP.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the execution time of a bean method into a histogram, exported at
+ * /actuator/timings. The name defaults to the method's signature, such as
+ * MyService.greet(String).
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+    String value() default "";
+}
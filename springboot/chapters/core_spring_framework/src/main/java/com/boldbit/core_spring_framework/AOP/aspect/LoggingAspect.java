@@ -1,44 +1,52 @@
 package com.boldbit.core_spring_framework.AOP.aspect;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.After;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * One around-advice instead of before/after/returning/throwing. Messages are
+ * parameterized and only built once the level check and sampling have passed;
+ * the ASYNC appender in logback-spring.xml does the console I/O off the caller's
+ * thread. Failures are always logged, successes at logging.aspect.sample-rate.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
-    @Before("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public void logBefore() {
-        System.out.println("Logging before performing task");
-    }
-
-    @After("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public void logAfter() {
-        System.out.println("Logging after performing task");
-    }
+    private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
 
-    @AfterReturning("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public void logAfterReturning() {
-        System.out.println("Logging after task completes successfully");
-    }
+    private final double sampleRate;
 
-    @AfterThrowing("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public void logAfterThrowing() {
-        System.out.println("Logging after task throws an exception");
+    public LoggingAspect(@Value("${logging.aspect.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
     }
 
     @Around("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public void logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        System.out.println("Logging around before performing task");
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean sampled = log.isDebugEnabled() && sampled();
+        if (sampled) {
+            log.debug("Performing {}", joinPoint.getSignature());
+        }
+        long start = System.nanoTime();
         try {
-            joinPoint.proceed();
-        } finally {
-            System.out.println("Logging around after performing task");
+            Object result = joinPoint.proceed();
+            if (sampled) {
+                log.debug("Completed {} in {}us", joinPoint.getSignature(), (System.nanoTime() - start) / 1_000);
+            }
+            return result;
+        } catch (Throwable e) {
+            log.warn("{} threw {} after {}us", joinPoint.getSignature(), e.toString(), (System.nanoTime() - start) / 1_000);
+            throw e;
         }
     }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
 }
@@ -0,0 +1,73 @@
+package com.boldbit.core_spring_framework.AOP.aspect;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import com.boldbit.core_spring_framework.AOP.annotation.Memoize;
+import com.boldbit.core_spring_framework.AOP.cache.MemoCache;
+
+@Aspect
+@Component
+public class Memoizer {
+    private final Map<Method, MemoCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, MemoCache> byName = new ConcurrentHashMap<>();
+
+    @Around("@annotation(memoize)")
+    public Object memoize(ProceedingJoinPoint joinPoint, Memoize memoize) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MemoCache cache = caches.computeIfAbsent(method, m -> {
+            MemoCache created = new MemoCache(memoize.maxSize(), memoize.unit().toNanos(memoize.ttl()));
+            byName.put(MethodTiming.signature(m), created);
+            return created;
+        });
+        return cache.get(new Key(joinPoint.getArgs()), joinPoint::proceed);
+    }
+
+    public Map<String, MemoCache.Stats> stats() {
+        Map<String, MemoCache.Stats> stats = new TreeMap<>();
+        byName.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+
+    // Arrays are compared by content, and copied so a caller changing one later cannot change the key.
+    private record Key(Object[] args) {
+        Key {
+            args = copy(args);
+        }
+
+        private static Object[] copy(Object[] args) {
+            Object[] copy = args.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] instanceof Object[] nested) {
+                    copy[i] = copy(nested);
+                } else if (copy[i] != null && copy[i].getClass().isArray()) {
+                    int length = Array.getLength(copy[i]);
+                    Object primitives = Array.newInstance(copy[i].getClass().getComponentType(), length);
+                    System.arraycopy(copy[i], 0, primitives, 0, length);
+                    copy[i] = primitives;
+                }
+            }
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key that && Arrays.deepEquals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(args);
+        }
+    }
+}
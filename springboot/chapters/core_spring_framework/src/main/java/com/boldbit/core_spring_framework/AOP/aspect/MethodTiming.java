@@ -1,22 +1,65 @@
 package com.boldbit.core_spring_framework.AOP.aspect;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import com.boldbit.core_spring_framework.AOP.annotation.Timed;
+import com.boldbit.core_spring_framework.AOP.metrics.LatencyHistogram;
+
 @Aspect
 @Component
 public class MethodTiming {
-    @Around("execution(* com.boldbit.core_spring_framework.AOP.service.MyService.performTask(..))")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+    private final Map<Method, LatencyHistogram> byMethod = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> byName = new ConcurrentHashMap<>();
+
+    @Around("@annotation(timed)")
+    public Object logExecutionTime(ProceedingJoinPoint joinPoint, Timed timed) throws Throwable {
         long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long executionTime = System.nanoTime() - start;
+            histogram(joinPoint, timed).record(executionTime);
+        }
+    }
 
-        Object proceed = joinPoint.proceed();
+    public Map<String, LatencyHistogram.Snapshot> snapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        byName.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    public LatencyHistogram.Snapshot snapshot(String name) {
+        LatencyHistogram histogram = byName.get(name);
+        return histogram == null ? null : histogram.snapshot();
+    }
 
-        long executionTime = System.nanoTime() - start;
+    private LatencyHistogram histogram(ProceedingJoinPoint joinPoint, Timed timed) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        LatencyHistogram histogram = byMethod.get(method);
+        if (histogram == null) {
+            String name = timed.value().isEmpty() ? signature(method) : timed.value();
+            // Methods sharing an explicit name share a histogram.
+            histogram = byMethod.computeIfAbsent(method, m -> byName.computeIfAbsent(name, n -> new LatencyHistogram()));
+        }
+        return histogram;
+    }
 
-        System.out.println(joinPoint.getSignature() + " executed in " + executionTime + "ns");
-        return proceed;
+    // Like toShortString(), but with the parameter types, so overloads do not share a name.
+    static String signature(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getSimpleName());
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + parameters;
     }
 }
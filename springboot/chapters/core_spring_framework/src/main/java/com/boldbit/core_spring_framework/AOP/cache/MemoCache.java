@@ -0,0 +1,98 @@
+package com.boldbit.core_spring_framework.AOP.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU of results with a time-to-live. Entries hold futures, so the
+ * first caller for a key runs the loader and concurrent callers for the same
+ * key wait for that result instead of computing it again. Failed loads are not
+ * cached. The lock only covers map bookkeeping, never the load itself. A load
+ * that asks for its own key again runs uncached rather than waiting on itself.
+ */
+public class MemoCache {
+
+    @FunctionalInterface
+    public interface Loader {
+        Object load() throws Throwable;
+    }
+
+    private record Slot(CompletableFuture<Object> value, long expiresAt, Thread loader) {
+    }
+
+    private final long ttlNanos;
+    private final Map<Object, Slot> slots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MemoCache(int maxSize, long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Slot> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Object get(Object key, Loader loader) throws Throwable {
+        long now = System.nanoTime();
+        Slot slot;
+        boolean owner = false;
+        synchronized (slots) {
+            slot = slots.get(key);
+            if (slot == null || (slot.value().isDone() && now - slot.expiresAt() > 0)) {
+                slot = new Slot(new CompletableFuture<>(), now + ttlNanos, Thread.currentThread());
+                slots.put(key, slot);
+                owner = true;
+            }
+        }
+        if (owner) {
+            misses.increment();
+            return load(key, slot, loader);
+        }
+        if (slot.loader() == Thread.currentThread() && !slot.value().isDone()) {
+            misses.increment();
+            return loader.load();
+        }
+        hits.increment();
+        try {
+            return slot.value().join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object load(Object key, Slot slot, Loader loader) throws Throwable {
+        try {
+            Object value = loader.load();
+            slot.value().complete(value);
+            return value;
+        } catch (Throwable e) {
+            synchronized (slots) {
+                slots.remove(key, slot);
+            }
+            slot.value().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (slots) {
+            size = slots.size();
+        }
+        return new Stats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions) {
+    }
+}
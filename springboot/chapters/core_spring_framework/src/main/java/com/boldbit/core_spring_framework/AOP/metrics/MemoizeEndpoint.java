@@ -0,0 +1,26 @@
+package com.boldbit.core_spring_framework.AOP.metrics;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.boldbit.core_spring_framework.AOP.aspect.Memoizer;
+import com.boldbit.core_spring_framework.AOP.cache.MemoCache;
+
+@Component
+@Endpoint(id = "memoize")
+public class MemoizeEndpoint {
+
+    private final Memoizer memoizer;
+
+    public MemoizeEndpoint(Memoizer memoizer) {
+        this.memoizer = memoizer;
+    }
+
+    @ReadOperation
+    public Map<String, MemoCache.Stats> caches() {
+        return memoizer.stats();
+    }
+}
@@ -0,0 +1,31 @@
+package com.boldbit.core_spring_framework.AOP.metrics;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.boldbit.core_spring_framework.AOP.aspect.MethodTiming;
+
+@Component
+@Endpoint(id = "timings")
+public class TimingsEndpoint {
+
+    private final MethodTiming methodTiming;
+
+    public TimingsEndpoint(MethodTiming methodTiming) {
+        this.methodTiming = methodTiming;
+    }
+
+    @ReadOperation
+    public Map<String, LatencyHistogram.Snapshot> timings() {
+        return methodTiming.snapshots();
+    }
+
+    @ReadOperation
+    public LatencyHistogram.Snapshot timing(@Selector String name) {
+        return methodTiming.snapshot(name);
+    }
+}
@@ -2,8 +2,11 @@ package com.boldbit.core_spring_framework.AOP.service;
 
 import org.springframework.stereotype.Service;
 
+import com.boldbit.core_spring_framework.AOP.annotation.Timed;
+
 @Service
 public class MyService {
+    @Timed
     public void performTask() {
         System.out.println("Performing task...");
     }
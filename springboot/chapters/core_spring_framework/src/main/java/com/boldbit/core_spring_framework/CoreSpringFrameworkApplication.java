@@ -2,28 +2,47 @@ package com.boldbit.core_spring_framework;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import com.boldbit.core_spring_framework.AOP.service.MyService;
+import com.boldbit.core_spring_framework.aot.NativeHints;
+import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PooledScope;
+import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PooledScopedCounter;
 import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PrototypeScopedCounter;
 import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.SingletonScopedCounter;
+import com.boldbit.core_spring_framework.startup.StartupReport;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeHints.class)
 public class CoreSpringFrameworkApplication {
 
 	public static void main(String[] args) {
-		ConfigurableApplicationContext context = SpringApplication.run(CoreSpringFrameworkApplication.class, args);
+		SpringApplication application = new SpringApplication(CoreSpringFrameworkApplication.class);
+		BufferingApplicationStartup startup = StartupReport.newStartup();
+		application.setApplicationStartup(startup);
+		application.addListeners(new StartupReport(startup));
+		ConfigurableApplicationContext context = application.run(args);
 
 		// ---------------------- Dependency Injection Section ------------------------
 		SingletonScopedCounter singletonScopedCounter1 = context.getBean(SingletonScopedCounter.class);
 		SingletonScopedCounter singletonScopedCounter2 = context.getBean(SingletonScopedCounter.class);
 		SingletonScopedCounter singletonScopedCounter3 = context.getBean(SingletonScopedCounter.class);
-		System.out.println("Singleton objects count: " + singletonScopedCounter1.instanceCount);
+		System.out.println("Singleton objects count: " + singletonScopedCounter1.getInstanceCount());
 
 		PrototypeScopedCounter prototypeScopedCounter1 = context.getBean(PrototypeScopedCounter.class);
 		PrototypeScopedCounter prototypeScopedCounter2 = context.getBean(PrototypeScopedCounter.class);
 		PrototypeScopedCounter prototypeScopedCounter3 = context.getBean(PrototypeScopedCounter.class);
-		System.out.println("Prototype objects count: " + prototypeScopedCounter1.instanceCount);
+		System.out.println("Prototype objects count: " + prototypeScopedCounter1.getInstanceCount());
+
+		PooledScope pooledScope = context.getBean(PooledScope.class);
+		for (int i = 0; i < 3; i++) {
+			PooledScopedCounter pooledScopedCounter = context.getBean(PooledScopedCounter.class);
+			pooledScopedCounter.increment();
+			pooledScope.release(pooledScopedCounter);
+		}
+		System.out.println("Pooled objects count: " + context.getBean(PooledScopedCounter.class).getInstanceCount());
 
 		// ---------------------- AOP Section ------------------------
 		MyService myService = context.getBean(MyService.class);
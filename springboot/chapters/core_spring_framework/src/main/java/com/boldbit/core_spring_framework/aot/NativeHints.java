@@ -0,0 +1,76 @@
+package com.boldbit.core_spring_framework.aot;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.boldbit.core_spring_framework.AOP.annotation.Memoize;
+import com.boldbit.core_spring_framework.AOP.annotation.Timed;
+import com.boldbit.core_spring_framework.AOP.aspect.LoggingAspect;
+import com.boldbit.core_spring_framework.AOP.aspect.Memoizer;
+import com.boldbit.core_spring_framework.AOP.aspect.MethodTiming;
+import com.boldbit.core_spring_framework.AOP.cache.MemoCache;
+import com.boldbit.core_spring_framework.AOP.metrics.LatencyHistogram;
+import com.boldbit.core_spring_framework.AOP.service.MyService;
+import com.boldbit.core_spring_framework.beans.AppConfig;
+import com.boldbit.core_spring_framework.beans.BackgroundInit;
+import com.boldbit.core_spring_framework.beans.ExampleBean;
+import com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage.CreditCardPaymentProcessor;
+import com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage.PaymentProcessor;
+import com.boldbit.core_spring_framework.dependencyInjection.profileUsage.DataSource;
+import com.boldbit.core_spring_framework.dependencyInjection.profileUsage.DevDataSource;
+import com.boldbit.core_spring_framework.dependencyInjection.profileUsage.ProdDataSource;
+import com.boldbit.core_spring_framework.dependencyInjection.service.GreetingServiceImpl;
+import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PooledScope;
+import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PooledScopedCounter;
+import com.boldbit.core_spring_framework.dependencyInjection.service.PaypalPaymentProcessor;
+import com.boldbit.core_spring_framework.ratelimit.RateLimitFilter;
+import com.boldbit.core_spring_framework.tracing.CompletedTrace;
+import com.boldbit.core_spring_framework.tracing.Span;
+import com.boldbit.core_spring_framework.tracing.TracesEndpoint;
+import com.boldbit.core_spring_framework.tracing.TracingAspect;
+import com.boldbit.core_spring_framework.tracing.TracingFilter;
+
+/**
+ * Reflection the native image cannot discover from the AOT-generated bean
+ * definitions. AspectJ invokes advice methods and reads pointcut annotations
+ * reflectively, and matches pointcuts against the advised beans' methods.
+ * Jackson serializes the actuator records. Profiles are resolved when the
+ * image is built, so both DataSource implementations are kept for images
+ * built with -Dspring.profiles.active=dev.
+ *
+ * BackgroundInitializer reads @BackgroundInit off @Bean methods and calls init
+ * methods by name. GenericFilterBean binds init parameters onto the filters
+ * through a BeanWrapper, and the pooled scope's beans are created on demand.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> aspect : new Class<?>[] { LoggingAspect.class, MethodTiming.class, Memoizer.class,
+                TracingAspect.class }) {
+            hints.reflection().registerType(aspect, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (Class<?> annotation : new Class<?>[] { Timed.class, Memoize.class, BackgroundInit.class }) {
+            hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> advised : new Class<?>[] { MyService.class, GreetingServiceImpl.class, DataSource.class,
+                DevDataSource.class, ProdDataSource.class, PaymentProcessor.class, CreditCardPaymentProcessor.class,
+                PaypalPaymentProcessor.class }) {
+            hints.reflection().registerType(advised, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(AppConfig.class, MemberCategory.INTROSPECT_DECLARED_METHODS);
+        hints.reflection().registerType(ExampleBean.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        for (Class<?> bean : new Class<?>[] { RateLimitFilter.class, TracingFilter.class, PooledScope.class,
+                PooledScopedCounter.class }) {
+            hints.reflection().registerType(bean, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                LatencyHistogram.Snapshot.class, MemoCache.Stats.class, TracesEndpoint.Traces.class,
+                CompletedTrace.class, Span.class);
+    }
+}
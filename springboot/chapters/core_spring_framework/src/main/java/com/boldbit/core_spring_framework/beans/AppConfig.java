@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
 
     @Bean(initMethod = "customInit", destroyMethod = "customDestroy")
+    @BackgroundInit
     public ExampleBean exampleBean() {
         return new ExampleBean();
     }
@@ -0,0 +1,20 @@
+package com.boldbit.core_spring_framework.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a singleton's afterPropertiesSet and init methods on a background
+ * thread instead of the main thread; see BackgroundInitializer. Best suited to
+ * beans nothing else depends on during startup: a non-background dependent
+ * makes the bean initialize inline before it, which gives up the parallelism.
+ * Ignored for lazy beans.
+ */
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BackgroundInit {
+}
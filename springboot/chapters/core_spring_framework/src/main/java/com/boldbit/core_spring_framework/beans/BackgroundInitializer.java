@@ -0,0 +1,238 @@
+package com.boldbit.core_spring_framework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Moves the init callbacks of @BackgroundInit singletons off the main thread.
+ * While the definitions of eager singletons are merged their afterPropertiesSet
+ * and init methods are registered as externally managed, so the container skips
+ * them; once all singletons exist they run on a bounded pool. Each bean starts
+ * only after the background beans it depends on (injected or @DependsOn,
+ * directly or through other beans) have finished, and refresh waits for all of
+ * them, so startup pays for the longest dependency chain rather than the sum.
+ *
+ * A bean that is not itself in the background but depends on one would see it
+ * uninitialized, so such a dependency is initialized inline, on the main thread,
+ * just before the dependent's own init. Running ahead of every other post-processor
+ * makes that include the dependent's @PostConstruct. Lazy beans are left to the
+ * container.
+ */
+@Component
+public class BackgroundInitializer
+        implements MergedBeanDefinitionPostProcessor, PriorityOrdered, SmartInitializingSingleton, BeanFactoryAware,
+        EnvironmentAware {
+    private static final Logger log = LoggerFactory.getLogger(BackgroundInitializer.class);
+
+    private record Pending(Object bean, List<String> initMethods) {
+    }
+
+    private final Map<String, List<String>> initMethodsByBean = new ConcurrentHashMap<>();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private volatile boolean started;
+    private ConfigurableListableBeanFactory beanFactory;
+    private int maxThreads;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    // Init work is often I/O (connections, remote calls), so the default pool is not limited to the core count.
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.maxThreads = environment.getProperty("background-init.threads", Integer.class,
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+        // A lazy bean may first be created after refresh, when no background pass is coming.
+        if (!beanDefinition.isSingleton() || beanDefinition.isLazyInit() || !isMarked(beanDefinition, beanType)) {
+            return;
+        }
+        List<String> initMethods = new ArrayList<>();
+        if (InitializingBean.class.isAssignableFrom(beanType)) {
+            initMethods.add("afterPropertiesSet");
+        }
+        String[] names = beanDefinition.getInitMethodNames();
+        if (names != null) {
+            for (String name : names) {
+                if (!initMethods.contains(name)) {
+                    initMethods.add(name);
+                }
+            }
+        }
+        initMethods.forEach(beanDefinition::registerExternallyManagedInitMethod);
+        initMethodsByBean.put(beanName, initMethods);
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        List<String> initMethods = initMethodsByBean.get(beanName);
+        if (initMethods != null) {
+            // Keep the raw instance: init methods must not go through proxies added later.
+            pending.put(beanName, new Pending(bean, initMethods));
+        } else if (!pending.isEmpty()) {
+            for (String dependency : beanFactory.getDependenciesForBean(beanName)) {
+                initializeNow(dependency, beanName);
+            }
+        }
+        return bean;
+    }
+
+    // A background bean created once the background pass has started would otherwise never be initialized.
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (started) {
+            initializeNow(beanName, beanName);
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        started = true;
+        Map<String, Pending> batch = new HashMap<>(pending);
+        pending.keySet().removeAll(batch.keySet());
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int beans = batch.size();
+        int threads = Math.min(beans, maxThreads);
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "background-init-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, CompletableFuture<Void>> scheduled = new HashMap<>();
+            for (String beanName : batch.keySet()) {
+                schedule(beanName, batch, scheduled, new HashSet<>(), executor);
+            }
+            CompletableFuture.allOf(scheduled.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof BeansException beansException ? beansException
+                    : new BeanCreationException("Background initialization failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Initialized {} beans in the background on {} threads in {}ms", beans, threads,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CompletableFuture<Void> schedule(String beanName, Map<String, Pending> batch,
+            Map<String, CompletableFuture<Void>> scheduled, Set<String> visiting, ExecutorService executor) {
+        CompletableFuture<Void> existing = scheduled.get(beanName);
+        if (existing != null) {
+            return existing;
+        }
+        visiting.add(beanName);
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (String dependency : backgroundDependencies(beanName, batch)) {
+            if (!visiting.contains(dependency)) {
+                dependencies.add(schedule(dependency, batch, scheduled, visiting, executor));
+            }
+        }
+        visiting.remove(beanName);
+        Pending bean = batch.get(beanName);
+        CompletableFuture<Void> future = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                .thenRunAsync(() -> initialize(beanName, bean), executor);
+        scheduled.put(beanName, future);
+        return future;
+    }
+
+    // Background beans reachable from beanName through any chain of registered dependencies.
+    private Set<String> backgroundDependencies(String beanName, Map<String, Pending> batch) {
+        Set<String> found = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        List<String> queue = new ArrayList<>(List.of(beanFactory.getDependenciesForBean(beanName)));
+        while (!queue.isEmpty()) {
+            String dependency = queue.remove(queue.size() - 1);
+            if (!seen.add(dependency)) {
+                continue;
+            }
+            if (batch.containsKey(dependency)) {
+                found.add(dependency);
+            } else {
+                queue.addAll(List.of(beanFactory.getDependenciesForBean(dependency)));
+            }
+        }
+        return found;
+    }
+
+    // Runs a still-pending bean's init on the calling thread, after any background beans it depends on.
+    private void initializeNow(String beanName, String requiredBy) {
+        Pending bean = pending.remove(beanName);
+        if (bean == null) {
+            return;
+        }
+        for (String dependency : beanFactory.getDependenciesForBean(beanName)) {
+            initializeNow(dependency, beanName);
+        }
+        log.debug("Initializing {} inline, needed by {}", beanName, requiredBy);
+        initialize(beanName, bean);
+    }
+
+    private void initialize(String beanName, Pending bean) {
+        try {
+            for (String name : bean.initMethods()) {
+                Method method = ReflectionUtils.findMethod(bean.bean().getClass(), name);
+                if (method == null) {
+                    throw new BeanCreationException(beanName, "Init method '" + name + "' not found");
+                }
+                ReflectionUtils.makeAccessible(method);
+                method.invoke(bean.bean());
+            }
+        } catch (BeanCreationException e) {
+            throw e;
+        } catch (Exception e) {
+            Throwable cause = e instanceof InvocationTargetException ite ? ite.getTargetException() : e;
+            throw new BeanCreationException(beanName, "Background initialization failed", cause);
+        }
+    }
+
+    private static boolean isMarked(RootBeanDefinition beanDefinition, Class<?> beanType) {
+        Method factoryMethod = beanDefinition.getResolvedFactoryMethod();
+        return (factoryMethod != null && AnnotatedElementUtils.hasAnnotation(factoryMethod, BackgroundInit.class))
+                || AnnotatedElementUtils.hasAnnotation(beanType, BackgroundInit.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects payments into micro-batches and hands each batch to the credit card
+ * processor in a single processPayments call. A batch is sent as soon as it
+ * holds maxSize payments or maxDelay after its first payment arrived, so the
+ * latency added to any one payment is bounded by maxDelay. Batch size, batch
+ * duration and queueing time are published as payments.batch.* meters.
+ * Whatever a batch throws fails that batch only; once the processor is closed,
+ * new payments are refused and queued ones are failed rather than left pending.
+ */
+@Component
+public class BatchingPaymentProcessor implements DisposableBean {
+
+    private record Pending(String payment, long enqueuedAt, CompletableFuture<String> result) {
+    }
+
+    private final PaymentProcessor delegate;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread worker;
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+    private final Timer queueWait;
+    private volatile boolean closed;
+
+    public BatchingPaymentProcessor(@Qualifier("creditCard") PaymentProcessor delegate, MeterRegistry registry,
+            @Value("${payments.batch.max-size:64}") int maxSize,
+            @Value("${payments.batch.max-delay:5ms}") Duration maxDelay,
+            @Value("${payments.batch.queue-capacity:10000}") int queueCapacity) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("payments.batch.size").publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batchDuration = Timer.builder("payments.batch.duration").publishPercentiles(0.5, 0.99).register(registry);
+        this.queueWait = Timer.builder("payments.batch.queue.wait").publishPercentiles(0.5, 0.99).register(registry);
+        this.worker = new Thread(this::run, "payment-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public CompletableFuture<String> submit(String payment) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Payment processor is closed"));
+        }
+        Pending pending = new Pending(payment, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Payment queue is full"));
+        }
+        // Closed between the check and the offer: the worker may already have drained the queue.
+        if (closed && queue.remove(pending)) {
+            pending.result().completeExceptionally(new RejectedExecutionException("Payment processor is closed"));
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxSize) {
+                    long left = deadline - System.nanoTime();
+                    Pending next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fail(batch, new RejectedExecutionException("Shutting down"));
+        failQueued();
+    }
+
+    private void process(List<Pending> batch) {
+        long start = System.nanoTime();
+        List<String> payments = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            payments.add(pending.payment());
+            queueWait.record(start - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        try {
+            List<String> results = delegate.processPayments(payments);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (Throwable e) {
+            // Errors included: letting one escape would kill the worker and strand every queued payment.
+            fail(batch, e);
+        }
+        batchSize.record(batch.size());
+        batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void failQueued() {
+        List<Pending> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        fail(queued, new RejectedExecutionException("Payment processor is closed"));
+    }
+
+    private static void fail(List<Pending> batch, Throwable error) {
+        batch.forEach(p -> p.result().completeExceptionally(error));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        // In case the worker is stuck in a batch past the join timeout.
+        failQueued();
+    }
+}
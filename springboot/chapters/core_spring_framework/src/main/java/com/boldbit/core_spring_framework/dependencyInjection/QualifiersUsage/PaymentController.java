@@ -1,5 +1,7 @@
 package com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -13,8 +15,16 @@ public class PaymentController {
     @Qualifier("creditCard")
     PaymentProcessor paymentProcessor;
 
+    @Autowired
+    BatchingPaymentProcessor batchingPaymentProcessor;
+
     @GetMapping("/payment")
     public String getMethodName() {
         return paymentProcessor.processPayment("200");
     }
+
+    @GetMapping("/payment/batched")
+    public CompletableFuture<String> batchedPayment() {
+        return batchingPaymentProcessor.submit("200");
+    }
 }
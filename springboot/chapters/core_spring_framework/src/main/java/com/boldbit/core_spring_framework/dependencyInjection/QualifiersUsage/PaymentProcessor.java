@@ -1,5 +1,12 @@
 package com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage;
 
+import java.util.List;
+
 public interface PaymentProcessor {
     String processPayment(String str);
+
+    // Results in the same order as the payments. Override when the backend has a real batch call.
+    default List<String> processPayments(List<String> payments) {
+        return payments.stream().map(this::processPayment).toList();
+    }
 }
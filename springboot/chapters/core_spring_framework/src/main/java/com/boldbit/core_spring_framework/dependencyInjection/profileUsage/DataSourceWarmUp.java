@@ -0,0 +1,65 @@
+package com.boldbit.core_spring_framework.dependencyInjection.profileUsage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Opens the pool's minimum-idle connections and prepares the configured
+ * statements on each of them once all singletons exist. This runs before the
+ * web server starts, so the first requests after a deploy find warm connections
+ * instead of paying for connection setup and statement parsing.
+ */
+@Component
+public class DataSourceWarmUp implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(DataSourceWarmUp.class);
+
+    private final javax.sql.DataSource pool;
+    private final String[] statements;
+
+    public DataSourceWarmUp(javax.sql.DataSource pool,
+            @Value("${datasource.warm-up.statements:SELECT 1}") String[] statements) {
+        this.pool = pool;
+        this.statements = statements;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int connections = pool instanceof HikariDataSource hikari ? Math.max(1, hikari.getMinimumIdle()) : 1;
+        long start = System.nanoTime();
+        List<Connection> held = new ArrayList<>(connections);
+        try {
+            // Hold them all at once, otherwise the pool would hand back the same connection every time.
+            for (int i = 0; i < connections; i++) {
+                Connection connection = pool.getConnection();
+                held.add(connection);
+                for (String sql : statements) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.execute();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("DataSource warm-up failed", e);
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+        log.info("Warmed up {} connections and {} statements in {}ms", held.size(), statements.length,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -5,8 +5,8 @@ import org.springframework.stereotype.Component;
 
 @Component
 @Profile("dev")
-public class DevDataSource implements DataSource{
-    public String connect() {
-        return "connecting to DevDataSource...";
+public class DevDataSource extends PooledDataSource {
+    public DevDataSource(javax.sql.DataSource pool) {
+        super("DevDataSource", pool);
     }
 }
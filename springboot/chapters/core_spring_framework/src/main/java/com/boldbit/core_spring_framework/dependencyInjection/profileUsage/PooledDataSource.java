@@ -0,0 +1,43 @@
+package com.boldbit.core_spring_framework.dependencyInjection.profileUsage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Base for the profile-specific data sources: connect() borrows a connection
+ * from the Hikari pool configured in application-{profile}.properties and runs
+ * a validation query on it.
+ */
+public abstract class PooledDataSource implements DataSource {
+    private final String name;
+    private final javax.sql.DataSource pool;
+
+    protected PooledDataSource(String name, javax.sql.DataSource pool) {
+        this.name = name;
+        this.pool = pool;
+    }
+
+    @Override
+    public String connect() {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.execute();
+            return "connecting to " + name + "... " + poolState();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot reach " + name, e);
+        }
+    }
+
+    private String poolState() {
+        if (pool instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean state = hikari.getHikariPoolMXBean();
+            return "(" + hikari.getPoolName() + ": active=" + state.getActiveConnections() + ", idle="
+                    + state.getIdleConnections() + ", total=" + state.getTotalConnections() + ")";
+        }
+        return "";
+    }
+}
@@ -5,8 +5,8 @@ import org.springframework.stereotype.Component;
 
 @Component
 @Profile("prod")
-public class ProdDataSource implements DataSource{
-    public String connect(){
-        return "connecting to ProdDataSource...";
+public class ProdDataSource extends PooledDataSource {
+    public ProdDataSource(javax.sql.DataSource pool) {
+        super("ProdDataSource", pool);
     }
 }
@@ -1,9 +1,21 @@
 package com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae;
 
+import java.util.concurrent.atomic.LongAdder;
+
 public class Counter {
-    public static int instanceCount = 0;
+    // One tally per concrete class, so the singleton and prototype counts do not mix.
+    private static final ClassValue<LongAdder> INSTANCES = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            return new LongAdder();
+        }
+    };
 
     public Counter() {
-        instanceCount++;
+        INSTANCES.get(getClass()).increment();
+    }
+
+    public long getInstanceCount() {
+        return INSTANCES.get(getClass()).sum();
     }
 }
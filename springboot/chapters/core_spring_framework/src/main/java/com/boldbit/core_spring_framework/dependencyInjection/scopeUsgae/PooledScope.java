@@ -0,0 +1,121 @@
+package com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prototype semantics without an allocation per lookup: each getBean hands out
+ * an idle instance from a bounded per-bean pool, and only creates one when the
+ * pool is empty. Callers hand instances back with release(), which resets
+ * Recyclable beans first, so the next caller still sees fresh state. Instances
+ * that are never released are simply garbage collected, as with prototypes.
+ * Only idle instances are tracked (by identity), which is enough to refuse a
+ * second release of an instance that is still sitting in the pool.
+ */
+@Component
+public class PooledScope implements Scope, BeanFactoryPostProcessor {
+    public static final String NAME = "pooled";
+    private static final int POOL_SIZE = 64;
+
+    private final Map<String, BlockingQueue<Object>> pools = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BlockingQueue<Object>> poolsByType = new ConcurrentHashMap<>();
+    private final Set<Idle> idle = ConcurrentHashMap.newKeySet();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        beanFactory.registerScope(NAME, this);
+    }
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        BlockingQueue<Object> pool = pools.computeIfAbsent(name, n -> new ArrayBlockingQueue<>(POOL_SIZE));
+        Object bean = pool.poll();
+        if (bean != null) {
+            idle.remove(new Idle(bean));
+            reused.increment();
+            return bean;
+        }
+        bean = objectFactory.getObject();
+        created.increment();
+        poolsByType.putIfAbsent(bean.getClass(), pool);
+        return bean;
+    }
+
+    /** Returns a bean obtained from this scope; the caller must not use it afterwards. */
+    public void release(Object bean) {
+        BlockingQueue<Object> pool = poolsByType.get(bean.getClass());
+        if (pool == null) {
+            throw new IllegalArgumentException(bean.getClass().getName() + " is not a " + NAME + "-scoped bean");
+        }
+        Idle entry = new Idle(bean);
+        if (!idle.add(entry)) {
+            // Pooling it twice would hand the same instance to two callers.
+            throw new IllegalStateException(bean.getClass().getName() + " instance was already released");
+        }
+        if (bean instanceof Recyclable recyclable) {
+            recyclable.reset();
+        }
+        // A full pool drops the instance; it becomes garbage like an unreleased prototype.
+        if (!pool.offer(bean)) {
+            idle.remove(entry);
+        }
+    }
+
+    public long reused() {
+        return reused.sum();
+    }
+
+    public long created() {
+        return created.sum();
+    }
+
+    @Override
+    public Object remove(String name) {
+        BlockingQueue<Object> pool = pools.remove(name);
+        if (pool != null) {
+            poolsByType.values().remove(pool);
+            pool.forEach(bean -> idle.remove(new Idle(bean)));
+        }
+        return null;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+    }
+
+    @Override
+    public Object resolveContextualObject(String key) {
+        return null;
+    }
+
+    @Override
+    public String getConversationId() {
+        return null;
+    }
+
+    // Identity, not equals(): two equal beans are still two instances.
+    private record Idle(Object bean) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Idle that && that.bean == bean;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(bean);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae;
+
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Component
+@Scope(PooledScope.NAME)
+public class PooledScopedCounter extends Counter implements Recyclable {
+    private int count;
+
+    public int increment() {
+        return ++count;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+    }
+}
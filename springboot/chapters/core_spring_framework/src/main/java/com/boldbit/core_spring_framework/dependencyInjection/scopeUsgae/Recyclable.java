@@ -0,0 +1,6 @@
+package com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae;
+
+/** A pooled bean; reset() restores the state a freshly constructed instance would have. */
+public interface Recyclable {
+    void reset();
+}
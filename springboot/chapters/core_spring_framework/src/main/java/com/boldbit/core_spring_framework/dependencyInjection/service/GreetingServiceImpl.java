@@ -2,8 +2,11 @@ package com.boldbit.core_spring_framework.dependencyInjection.service;
 
 import org.springframework.stereotype.Service;
 
+import com.boldbit.core_spring_framework.AOP.annotation.Memoize;
+
 @Service
 public class GreetingServiceImpl implements GreetingService {
+    @Memoize
     public String greet() {
         return "Hello, ";
     }
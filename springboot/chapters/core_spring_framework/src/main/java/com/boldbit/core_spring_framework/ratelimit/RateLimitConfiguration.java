@@ -0,0 +1,46 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Routes are configured as pattern=permitsPerSecond:burst entries, checked in
+ * order, e.g. ratelimit.routes=/di/pay/payment=20:40,/di/**=200:400.
+ */
+@Configuration
+public class RateLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${ratelimit.routes:}") String[] routes,
+            @Value("${ratelimit.client-header:}") String clientHeader,
+            @Value("${ratelimit.idle-expiry:5m}") Duration idleExpiry,
+            @Value("${ratelimit.max-clients:100000}") int maxClients) {
+        List<RateLimitFilter.Route> parsed = new ArrayList<>();
+        for (String route : routes) {
+            int equals = route.lastIndexOf('=');
+            int colon = route.lastIndexOf(':');
+            if (equals < 0 || colon < equals) {
+                throw new IllegalArgumentException("Expected pattern=permitsPerSecond:burst but got " + route);
+            }
+            parsed.add(new RateLimitFilter.Route(
+                    PathPatternParser.defaultInstance.parse(route.substring(0, equals).trim()),
+                    new RateLimiter(Double.parseDouble(route.substring(equals + 1, colon).trim()),
+                            Integer.parseInt(route.substring(colon + 1).trim()), idleExpiry, maxClients)));
+        }
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(parsed, clientHeader));
+        // Turn excess requests away before any other filter spends time on them.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(!parsed.isEmpty());
+        return registration;
+    }
+}
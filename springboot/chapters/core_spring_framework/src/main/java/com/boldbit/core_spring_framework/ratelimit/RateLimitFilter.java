@@ -0,0 +1,72 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the first route whose pattern matches the request path; unmatched
+ * requests pass through. Clients are told apart by remote address, or by
+ * clientHeader when one is configured: only name a header that a trusted proxy
+ * sets, as otherwise every request can claim a fresh client and a full bucket.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public record Route(PathPattern pattern, RateLimiter limiter) {
+    }
+
+    private final List<Route> routes;
+    private final String clientHeader;
+
+    public RateLimitFilter(List<Route> routes, String clientHeader) {
+        this.routes = routes;
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimiter limiter = limiterFor(request);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String client = clientOf(request);
+        long wait = limiter.tryAcquire(client);
+        if (wait > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.setHeader("X-RateLimit-Remaining", "0");
+            return;
+        }
+        response.setHeader("X-RateLimit-Remaining", Long.toString(limiter.remaining(client)));
+        chain.doFilter(request, response);
+    }
+
+    private RateLimiter limiterFor(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.pattern().matches(path)) {
+                return route.limiter();
+            }
+        }
+        return null;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String key = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        return key != null && !key.isBlank() ? key : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,99 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-client token buckets for one route. Buckets are spread over STRIPES maps
+ * by client key, and each stripe is swept for idle buckets at most once per
+ * idle period by whichever request comes across it first, so memory follows
+ * the number of recently active clients and no background thread is needed.
+ */
+public class RateLimiter {
+    private static final int STRIPES = 16;
+    private static final long CROWDED_SWEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final long interval;
+    private final long capacity;
+    private final long idleNanos;
+    private final int maxClientsPerStripe;
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes = new ConcurrentHashMap[STRIPES];
+    private final AtomicLongArray nextSweep = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray nextCrowdedSweep = new AtomicLongArray(STRIPES);
+
+    public RateLimiter(double permitsPerSecond, int burst, Duration idleExpiry, int maxClients) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive: " + permitsPerSecond + "/" + burst);
+        }
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.capacity = interval * burst;
+        // The bucket must have refilled completely before it may be forgotten.
+        this.idleNanos = Math.max(idleExpiry.toNanos(), capacity);
+        this.maxClientsPerStripe = Math.max(1, maxClients / STRIPES);
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            nextSweep.set(i, now + idleNanos);
+            nextCrowdedSweep.set(i, now);
+        }
+    }
+
+    /** Takes a permit for client: returns 0 if granted, otherwise the nanos to wait before retrying. */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        int stripe = stripe(client);
+        ConcurrentHashMap<String, TokenBucket> buckets = stripes[stripe];
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(client, key -> new TokenBucket(now));
+        }
+        long wait = bucket.tryTake(now, interval, capacity);
+        sweep(stripe, now);
+        return wait;
+    }
+
+    public long remaining(String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = stripes[stripe(client)].get(client);
+        return bucket == null ? capacity / interval : bucket.remaining(now, interval, capacity);
+    }
+
+    private static int stripe(String client) {
+        int hash = client.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /*
+     * A stripe over its share of maxClients also drops every full bucket, however
+     * recently used, but at most once per CROWDED_SWEEP_NANOS: when its clients are
+     * all genuinely active a sweep frees nothing, and repeating it on every request
+     * would make each one pay for a scan of the stripe. A take racing with removal
+     * lands on a full bucket that is then thrown away, which at most lets one extra
+     * request in.
+     */
+    private void sweep(int stripe, long now) {
+        ConcurrentHashMap<String, TokenBucket> buckets = stripes[stripe];
+        long due = nextSweep.get(stripe);
+        if (now - due >= 0 && nextSweep.compareAndSet(stripe, due, now + idleNanos)) {
+            buckets.values().removeIf(bucket -> bucket.idle(now, idleNanos));
+        }
+        if (buckets.size() > maxClientsPerStripe) {
+            long crowdedDue = nextCrowdedSweep.get(stripe);
+            if (now - crowdedDue >= 0
+                    && nextCrowdedSweep.compareAndSet(stripe, crowdedDue, now + CROWDED_SWEEP_NANOS)) {
+                buckets.values().removeIf(bucket -> bucket.idle(now, 0));
+            }
+        }
+    }
+
+    int clients() {
+        int clients = 0;
+        for (ConcurrentHashMap<String, TokenBucket> buckets : stripes) {
+            clients += buckets.size();
+        }
+        return clients;
+    }
+}
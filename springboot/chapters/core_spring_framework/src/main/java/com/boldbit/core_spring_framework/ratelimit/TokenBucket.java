@@ -0,0 +1,42 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single "theoretical arrival time" (the GCRA form):
+ * the instant at which the bucket would be full again. Taking a token pushes it
+ * forward by one emission interval, so a take is one CAS and no refill
+ * bookkeeping is needed.
+ */
+final class TokenBucket {
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /** Takes one token: returns 0 on success, otherwise the nanos until one is available. */
+    long tryTake(long now, long interval, long capacity) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Whole tokens left at now. */
+    long remaining(long now, long interval, long capacity) {
+        return (capacity - Math.max(0, fullAt.get() - now)) / interval;
+    }
+
+    // A bucket that has been full for idleNanos is indistinguishable from a new one and can be dropped.
+    boolean idle(long now, long idleNanos) {
+        return fullAt.get() + idleNanos <= now;
+    }
+}
@@ -0,0 +1,42 @@
+package com.boldbit.core_spring_framework.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.boldbit.core_spring_framework.dependencyInjection.profileUsage.DataSource;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Functional WebFlux versions of BeanController and DataSourceController, active
+ * under the reactive profile (add it with spring.profiles.include so prod stays
+ * active). JDBC has no non-blocking driver here, so the database call is moved
+ * to the bounded elastic scheduler rather than run on an event loop.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutes {
+
+    // Tomcat is on the classpath too and would otherwise be picked for the reactive server.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> routes(DataSource dataSource) {
+        return RouterFunctions.route()
+                .GET("/beanlifecycle",
+                        request -> ServerResponse.ok().bodyValue("Check console for bean lifecycle events."))
+                .GET("/profile/db", request -> Mono.fromCallable(dataSource::connect)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(body -> ServerResponse.ok().bodyValue(body)))
+                .build();
+    }
+}
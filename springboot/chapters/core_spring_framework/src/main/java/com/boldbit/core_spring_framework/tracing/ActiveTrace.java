@@ -0,0 +1,56 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The trace being built on the current request thread. Only that thread touches it, so it needs no synchronization.
+final class ActiveTrace {
+    private final long start = System.nanoTime();
+    private final long startedAt = System.currentTimeMillis();
+    private final boolean sampled;
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private int current = 0;
+
+    ActiveTrace(boolean sampled, int maxSpans) {
+        this.sampled = sampled;
+        this.maxSpans = maxSpans;
+        spans.add(null); // the root, filled in by finish
+    }
+
+    boolean sampled() {
+        return sampled;
+    }
+
+    /** Opens a child of the innermost open span and returns its index, or -1 when it is not to be recorded. */
+    int open(String name, String kind) {
+        if (!sampled || spans.size() >= maxSpans) {
+            return -1;
+        }
+        int index = spans.size();
+        spans.add(new Span(name, kind, current, micros(System.nanoTime() - start), -1, false));
+        current = index;
+        return index;
+    }
+
+    void close(int index, boolean error) {
+        Span open = spans.get(index);
+        long duration = micros(System.nanoTime() - start) - open.startMicros();
+        spans.set(index, new Span(open.name(), open.kind(), open.parent(), open.startMicros(), duration, error));
+        current = open.parent();
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    CompletedTrace finish(long id, String route, int status, boolean error) {
+        long duration = micros(elapsedNanos());
+        spans.set(0, new Span(route, "request", -1, 0, duration, error));
+        return new CompletedTrace(id, route, status, startedAt, duration, sampled, List.copyOf(spans));
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+}
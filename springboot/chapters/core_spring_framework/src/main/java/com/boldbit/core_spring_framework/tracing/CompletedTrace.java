@@ -0,0 +1,11 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.util.List;
+
+/**
+ * A finished request. Traces that were not head-sampled only carry their root
+ * span: they are kept because they were slow or failed, not for their detail.
+ */
+public record CompletedTrace(long id, String route, int status, long startedAtEpochMillis, long durationMicros,
+        boolean sampled, List<Span> spans) {
+}
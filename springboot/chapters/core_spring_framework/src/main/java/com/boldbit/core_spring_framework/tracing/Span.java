@@ -0,0 +1,5 @@
+package com.boldbit.core_spring_framework.tracing;
+
+/** One timed call within a trace; times are microseconds from the start of the trace, parent -1 for the root. */
+public record Span(String name, String kind, int parent, long startMicros, long durationMicros, boolean error) {
+}
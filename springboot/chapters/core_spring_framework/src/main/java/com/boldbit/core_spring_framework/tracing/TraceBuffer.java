@@ -0,0 +1,59 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recently kept traces. Writers claim a slot with
+ * one getAndIncrement and overwrite whatever was there, so recording never
+ * blocks and memory stays at capacity traces however busy the service is.
+ */
+public class TraceBuffer {
+    private final AtomicReferenceArray<CompletedTrace> slots;
+    private final int mask;
+    private final AtomicLong written = new AtomicLong();
+
+    public TraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /** Next id to hand out; ids are also the sequence in which slots are claimed. */
+    public long claim() {
+        return written.getAndIncrement();
+    }
+
+    public void store(CompletedTrace trace) {
+        slots.set((int) (trace.id() & mask), trace);
+    }
+
+    public List<CompletedTrace> slowest(int limit) {
+        List<CompletedTrace> traces = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            CompletedTrace trace = slots.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(CompletedTrace::durationMicros).reversed());
+        return traces.subList(0, Math.max(0, Math.min(limit, traces.size())));
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process request tracing. The head decision, made when a request starts,
+ * picks tracing.head-sample-rate of requests to record child spans for; the
+ * tail decision, made when it ends, keeps those plus any request that failed or
+ * took at least tracing.tail-threshold. An unsampled request costs a small
+ * allocation and a few clock reads, and only kept traces reach the TraceBuffer.
+ */
+@Component
+public class Tracer {
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final double headSampleRate;
+    private final long tailThresholdNanos;
+    private final int maxSpans;
+    private final TraceBuffer buffer;
+
+    public Tracer(@Value("${tracing.head-sample-rate:0.01}") double headSampleRate,
+            @Value("${tracing.tail-threshold:100ms}") Duration tailThreshold,
+            @Value("${tracing.max-spans:64}") int maxSpans,
+            @Value("${tracing.buffer-size:1024}") int bufferSize) {
+        this.headSampleRate = headSampleRate;
+        this.tailThresholdNanos = tailThreshold.toNanos();
+        this.maxSpans = maxSpans;
+        this.buffer = new TraceBuffer(bufferSize);
+    }
+
+    void begin() {
+        boolean sampled = headSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < headSampleRate;
+        current.set(new ActiveTrace(sampled, maxSpans));
+    }
+
+    void end(String route, int status, boolean error) {
+        ActiveTrace trace = current.get();
+        current.remove();
+        if (trace == null) {
+            return;
+        }
+        boolean slow = trace.elapsedNanos() >= tailThresholdNanos;
+        boolean failed = error || status >= 500;
+        if (trace.sampled() || slow || failed) {
+            buffer.store(trace.finish(buffer.claim(), route, status, failed));
+        }
+    }
+
+    /** The calling thread's trace, or null outside a traced request. */
+    ActiveTrace active() {
+        return current.get();
+    }
+
+    public TraceBuffer buffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,34 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final Tracer tracer;
+
+    public TracesEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public Traces slowest(@Nullable Integer limit) {
+        TraceBuffer buffer = tracer.buffer();
+        return new Traces(buffer.capacity(), buffer.written(), buffer.slowest(limit == null ? 10 : limit));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        tracer.buffer().clear();
+    }
+
+    public record Traces(int capacity, long kept, List<CompletedTrace> slowest) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a span around controller, service and data-source calls made while a
+ * head-sampled request is in flight. Anything else, including the calls made
+ * at startup, goes straight through after one ThreadLocal read.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return span(joinPoint, "controller");
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)"
+            + " || execution(* com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage.PaymentProcessor+.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return span(joinPoint, "service");
+    }
+
+    @Around("execution(* com.boldbit.core_spring_framework.dependencyInjection.profileUsage.DataSource+.connect(..))")
+    public Object dataSource(ProceedingJoinPoint joinPoint) throws Throwable {
+        return span(joinPoint, "datasource");
+    }
+
+    private Object span(ProceedingJoinPoint joinPoint, String kind) throws Throwable {
+        ActiveTrace trace = tracer.active();
+        int span = trace == null ? -1 : trace.open(joinPoint.getSignature().toShortString(), kind);
+        if (span < 0) {
+            return joinPoint.proceed();
+        }
+        boolean error = true;
+        try {
+            Object result = joinPoint.proceed();
+            error = false;
+            return result;
+        } finally {
+            trace.close(span, error);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Brackets each request with a trace. For async handlers (the batched payment
+ * endpoint) the trace ends when the request thread lets go, not when the
+ * response is finally written.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        tracer.begin();
+        boolean error = true;
+        try {
+            chain.doFilter(request, response);
+            error = false;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String path = pattern instanceof String p ? p : request.getRequestURI();
+            tracer.end(request.getMethod() + " " + path, response.getStatus(), error);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.boldbit.core_spring_framework.AOP.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.boldbit.core_spring_framework.AOP.annotation.Memoize;
+
+class MemoizerTest {
+
+	@Test
+	void overloadsAreReportedSeparately() {
+		Memoizer memoizer = new Memoizer();
+		Calls proxy = proxy(memoizer);
+		proxy.describe(1);
+		proxy.describe(1);
+		proxy.describe("1");
+
+		assertThat(memoizer.stats()).containsOnlyKeys("Calls.describe(int)", "Calls.describe(String)");
+		assertThat(memoizer.stats().get("Calls.describe(int)").hits()).isEqualTo(1);
+		assertThat(memoizer.stats().get("Calls.describe(String)").misses()).isEqualTo(1);
+	}
+
+	@Test
+	void arrayArgumentsAreComparedByContent() {
+		Calls target = new Calls();
+		Calls proxy = proxy(new Memoizer(), target);
+
+		assertThat(proxy.sum(new int[] { 1, 2 })).isEqualTo(3);
+		assertThat(proxy.sum(new int[] { 1, 2 })).isEqualTo(3);
+		assertThat(proxy.join(new String[][] { { "a" }, { "b" } })).isEqualTo("ab");
+		assertThat(proxy.join(new String[][] { { "a" }, { "b" } })).isEqualTo("ab");
+
+		assertThat(target.calls).hasValue(2);
+	}
+
+	@Test
+	void changingAnArrayAfterTheCallDoesNotChangeTheCachedKey() {
+		Calls target = new Calls();
+		Calls proxy = proxy(new Memoizer(), target);
+		int[] values = { 1, 2 };
+		proxy.sum(values);
+
+		values[0] = 10;
+
+		assertThat(proxy.sum(values)).isEqualTo(12);
+		assertThat(proxy.sum(new int[] { 1, 2 })).isEqualTo(3);
+		assertThat(target.calls).hasValue(2);
+	}
+
+	@Test
+	void recursiveCallWithTheSameArgumentsDoesNotDeadlock() {
+		Calls target = new Calls();
+		Calls proxy = proxy(new Memoizer(), target);
+		target.self = proxy;
+
+		assertThat(proxy.resolve("x")).isEqualTo("outer(inner x)");
+		assertThat(proxy.resolve("x")).isEqualTo("outer(inner x)");
+		assertThat(target.calls).hasValue(2);
+	}
+
+	private static Calls proxy(Memoizer memoizer) {
+		return proxy(memoizer, new Calls());
+	}
+
+	private static Calls proxy(Memoizer memoizer, Calls target) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.addAspect(memoizer);
+		factory.setProxyTargetClass(true);
+		return factory.getProxy();
+	}
+
+	static class Calls {
+		final AtomicInteger calls = new AtomicInteger();
+		Calls self;
+
+		@Memoize
+		public String describe(int value) {
+			return "int " + value;
+		}
+
+		@Memoize
+		public String describe(String value) {
+			return "string " + value;
+		}
+
+		@Memoize
+		public int sum(int[] values) {
+			calls.incrementAndGet();
+			int sum = 0;
+			for (int value : values) {
+				sum += value;
+			}
+			return sum;
+		}
+
+		@Memoize
+		public String join(String[][] parts) {
+			calls.incrementAndGet();
+			StringBuilder joined = new StringBuilder();
+			for (String[] part : parts) {
+				joined.append(String.join("", part));
+			}
+			return joined.toString();
+		}
+
+		// Calls itself through the proxy with the same argument once.
+		@Memoize
+		public String resolve(String name) {
+			if (calls.getAndIncrement() == 0) {
+				return "outer(" + self.resolve(name) + ")";
+			}
+			return "inner " + name;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.boldbit.core_spring_framework.AOP.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.boldbit.core_spring_framework.AOP.annotation.Timed;
+
+class MethodTimingTest {
+
+	@Test
+	void overloadsGetTheirOwnHistograms() {
+		MethodTiming timing = new MethodTiming();
+		Overloads proxy = proxy(timing);
+		proxy.work(1);
+		proxy.work(2);
+		proxy.work("a");
+
+		assertThat(timing.snapshots()).containsOnlyKeys("Overloads.work(int)", "Overloads.work(String)");
+		assertThat(timing.snapshot("Overloads.work(int)").count()).isEqualTo(2);
+		assertThat(timing.snapshot("Overloads.work(String)").count()).isEqualTo(1);
+	}
+
+	@Test
+	void methodsNamedAlikeShareAHistogram() {
+		MethodTiming timing = new MethodTiming();
+		Overloads proxy = proxy(timing);
+		proxy.first();
+		proxy.second(new String[0]);
+
+		assertThat(timing.snapshot("shared").count()).isEqualTo(2);
+	}
+
+	@Test
+	void failedCallsAreTimedToo() {
+		MethodTiming timing = new MethodTiming();
+		Overloads proxy = proxy(timing);
+		try {
+			proxy.fail();
+		} catch (IllegalStateException expected) {
+		}
+
+		assertThat(timing.snapshot("Overloads.fail()").count()).isEqualTo(1);
+	}
+
+	private static Overloads proxy(MethodTiming timing) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(new Overloads());
+		factory.addAspect(timing);
+		factory.setProxyTargetClass(true);
+		return factory.getProxy();
+	}
+
+	static class Overloads {
+		@Timed
+		public int work(int value) {
+			return value;
+		}
+
+		@Timed
+		public String work(String value) {
+			return value;
+		}
+
+		@Timed("shared")
+		public void first() {
+		}
+
+		@Timed("shared")
+		public void second(String[] values) {
+		}
+
+		@Timed
+		public void fail() {
+			throw new IllegalStateException();
+		}
+	}
+}
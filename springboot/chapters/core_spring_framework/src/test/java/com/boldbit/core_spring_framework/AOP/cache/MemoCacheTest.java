@@ -0,0 +1,103 @@
+package com.boldbit.core_spring_framework.AOP.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class MemoCacheTest {
+
+	@Test
+	void concurrentCallersForOneKeyShareOneLoad() throws Exception {
+		MemoCache cache = new MemoCache(16, TimeUnit.MINUTES.toNanos(1));
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(4);
+		try {
+			Future<Object> first = threads.submit(() -> call(cache, "k", () -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				release.await();
+				return "v";
+			}));
+			loading.await();
+			List<Future<Object>> waiters = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				waiters.add(threads.submit(() -> call(cache, "k", () -> "other")));
+			}
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+			for (Future<Object> waiter : waiters) {
+				assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+		assertThat(loads).hasValue(1);
+		assertThat(cache.stats()).isEqualTo(new MemoCache.Stats(1, 3, 1, 0));
+	}
+
+	@Test
+	void failedLoadIsNotCached() throws Throwable {
+		MemoCache cache = new MemoCache(16, TimeUnit.MINUTES.toNanos(1));
+		assertThatIllegalStateException().isThrownBy(() -> cache.get("k", () -> {
+			throw new IllegalStateException("boom");
+		}));
+
+		assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+		assertThat(cache.stats().misses()).isEqualTo(2);
+	}
+
+	@Test
+	void expiredEntryIsLoadedAgain() throws Throwable {
+		MemoCache cache = new MemoCache(16, TimeUnit.MILLISECONDS.toNanos(20));
+		cache.get("k", () -> "old");
+		assertThat(cache.get("k", () -> "new")).isEqualTo("old");
+
+		Thread.sleep(40);
+
+		assertThat(cache.get("k", () -> "new")).isEqualTo("new");
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() throws Throwable {
+		MemoCache cache = new MemoCache(2, TimeUnit.MINUTES.toNanos(1));
+		cache.get("a", () -> "a");
+		cache.get("b", () -> "b");
+		cache.get("a", () -> "unused");
+		cache.get("c", () -> "c");
+
+		assertThat(cache.get("a", () -> "reloaded")).isEqualTo("a");
+		assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+		assertThat(cache.stats().evictions()).isEqualTo(2);
+	}
+
+	@Test
+	void loadAskingForItsOwnKeyRunsUncachedInsteadOfDeadlocking() throws Throwable {
+		MemoCache cache = new MemoCache(16, TimeUnit.MINUTES.toNanos(1));
+		Object value = cache.get("k", () -> "outer(" + cache.get("k", () -> "inner") + ")");
+
+		assertThat(value).isEqualTo("outer(inner)");
+		assertThat(cache.get("k", () -> "reloaded")).isEqualTo("outer(inner)");
+	}
+
+	private static Object call(MemoCache cache, Object key, MemoCache.Loader loader) throws Exception {
+		try {
+			return cache.get(key, loader);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
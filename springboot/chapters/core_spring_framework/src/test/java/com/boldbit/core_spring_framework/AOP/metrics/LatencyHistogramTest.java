@@ -0,0 +1,70 @@
+package com.boldbit.core_spring_framework.AOP.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+	@Test
+	void smallValuesHaveTheirOwnBuckets() {
+		for (long value = 0; value < 64; value++) {
+			assertThat(LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(value))).isEqualTo(value);
+		}
+	}
+
+	@Test
+	void everyValueLandsInABucketThatContainsItWithinThreePercent() {
+		long previousIndex = -1;
+		for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+			for (long probe : new long[] { value, value + 1, value * 2 - 1 }) {
+				int index = LatencyHistogram.indexOf(probe);
+				long highest = LatencyHistogram.highestValueIn(index);
+				assertThat(highest).isGreaterThanOrEqualTo(probe);
+				assertThat((double) (highest - probe) / probe).isLessThanOrEqualTo(1.0 / 32);
+				assertThat(LatencyHistogram.indexOf(highest)).isEqualTo(index);
+			}
+			int index = LatencyHistogram.indexOf(value);
+			assertThat(index).isGreaterThan((int) previousIndex);
+			previousIndex = index;
+		}
+		assertThat(LatencyHistogram.highestValueIn(LatencyHistogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void percentilesComeFromTheBucketsAndNeverExceedTheMax() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long micros = 1; micros <= 1000; micros++) {
+			histogram.record(micros * 1_000);
+		}
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+		assertThat(snapshot.count()).isEqualTo(1000);
+		assertThat(snapshot.maxNanos()).isEqualTo(1_000_000);
+		assertThat(snapshot.p50Nanos()).isBetween(500_000L, 500_000L + 500_000L / 32);
+		assertThat((double) snapshot.p99Nanos()).isCloseTo(990_000, within(990_000.0 / 32));
+		assertThat(snapshot.p99Nanos()).isLessThanOrEqualTo(snapshot.maxNanos());
+	}
+
+	@Test
+	void singleValueIsReportedExactly() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(123_456_789);
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+		assertThat(snapshot.p50Nanos()).isEqualTo(123_456_789);
+		assertThat(snapshot.p99Nanos()).isEqualTo(123_456_789);
+	}
+
+	@Test
+	void emptyAndNegativeRecordings() {
+		assertThat(new LatencyHistogram().snapshot()).isEqualTo(new LatencyHistogram.Snapshot(0, 0, 0, 0));
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+		assertThat(histogram.snapshot()).isEqualTo(new LatencyHistogram.Snapshot(1, 0, 0, 0));
+	}
+}
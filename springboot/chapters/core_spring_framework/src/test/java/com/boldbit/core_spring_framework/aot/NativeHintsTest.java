@@ -0,0 +1,57 @@
+package com.boldbit.core_spring_framework.aot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import com.boldbit.core_spring_framework.beans.BackgroundInit;
+import com.boldbit.core_spring_framework.beans.ExampleBean;
+import com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae.PooledScope;
+import com.boldbit.core_spring_framework.ratelimit.RateLimitFilter;
+import com.boldbit.core_spring_framework.tracing.CompletedTrace;
+import com.boldbit.core_spring_framework.tracing.Span;
+import com.boldbit.core_spring_framework.tracing.TracesEndpoint;
+import com.boldbit.core_spring_framework.tracing.TracingAspect;
+
+class NativeHintsTest {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	NativeHintsTest() {
+		new NativeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void tracingAspectAdviceCanBeInvoked() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(TracingAspect.class)
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+	}
+
+	@Test
+	void tracesEndpointRecordsCanBeSerialized() throws NoSuchMethodException {
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(TracesEndpoint.Traces.class.getMethod("slowest")))
+				.accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(CompletedTrace.class.getMethod("spans")))
+				.accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onMethod(Span.class.getMethod("durationMicros")))
+				.accepts(hints);
+	}
+
+	@Test
+	void backgroundInitCanReadItsAnnotationAndCallInitMethods() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(BackgroundInit.class)).accepts(hints);
+		assertThat(RuntimeHintsPredicates.reflection().onType(ExampleBean.class)
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS)).accepts(hints);
+	}
+
+	@Test
+	void filtersAndPooledScopeAreRegistered() {
+		for (Class<?> type : new Class<?>[] { RateLimitFilter.class, PooledScope.class }) {
+			assertThat(RuntimeHintsPredicates.reflection().onType(type)
+					.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.boldbit.core_spring_framework.beans;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import jakarta.annotation.PostConstruct;
+
+class BackgroundInitializerTest {
+
+	@Test
+	void independentBeanIsInitializedOffTheMainThreadBeforeRefreshReturns() {
+		try (AnnotationConfigApplicationContext context = context(Independent.class)) {
+			Slow slow = context.getBean(Slow.class);
+			assertThat(slow.initializedOn).startsWith("background-init-");
+		}
+	}
+
+	@Test
+	void nonBackgroundDependentSeesItsDependencyInitialized() {
+		try (AnnotationConfigApplicationContext context = context(WithDependent.class)) {
+			Dependent dependent = context.getBean(Dependent.class);
+			assertThat(dependent.sawInitialized).isTrue();
+			assertThat(context.getBean(Slow.class).initializedOn).isEqualTo(Thread.currentThread().getName());
+		}
+	}
+
+	@Test
+	void dependentsPostConstructSeesItsDependencyInitialized() {
+		try (AnnotationConfigApplicationContext context = context(WithPostConstructDependent.class)) {
+			assertThat(context.getBean(PostConstructDependent.class).sawInitialized).isTrue();
+		}
+	}
+
+	@Test
+	void lazyBeanIsInitializedByTheContainerWhenFirstUsed() {
+		try (AnnotationConfigApplicationContext context = context(LazyBackground.class)) {
+			Slow slow = context.getBean(Slow.class);
+			assertThat(slow.initializedOn).isEqualTo(Thread.currentThread().getName());
+		}
+	}
+
+	private static AnnotationConfigApplicationContext context(Class<?> configuration) {
+		return new AnnotationConfigApplicationContext(BackgroundInitializer.class, configuration);
+	}
+
+	static class Slow implements InitializingBean {
+		volatile String initializedOn;
+
+		@Override
+		public void afterPropertiesSet() throws InterruptedException {
+			Thread.sleep(50);
+			initializedOn = Thread.currentThread().getName();
+		}
+	}
+
+	static class Dependent implements InitializingBean {
+		private final Slow slow;
+		boolean sawInitialized;
+
+		Dependent(Slow slow) {
+			this.slow = slow;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			sawInitialized = slow.initializedOn != null;
+		}
+	}
+
+	static class PostConstructDependent {
+		private final Slow slow;
+		boolean sawInitialized;
+
+		PostConstructDependent(Slow slow) {
+			this.slow = slow;
+		}
+
+		@PostConstruct
+		void init() {
+			sawInitialized = slow.initializedOn != null;
+		}
+	}
+
+	@Configuration
+	static class Independent {
+		@Bean
+		@BackgroundInit
+		Slow slow() {
+			return new Slow();
+		}
+	}
+
+	@Configuration
+	static class WithDependent {
+		@Bean
+		@BackgroundInit
+		Slow slow() {
+			return new Slow();
+		}
+
+		@Bean
+		Dependent dependent(Slow slow) {
+			return new Dependent(slow);
+		}
+	}
+
+	@Configuration
+	static class WithPostConstructDependent {
+		@Bean
+		@BackgroundInit
+		Slow slow() {
+			return new Slow();
+		}
+
+		@Bean
+		PostConstructDependent dependent(Slow slow) {
+			return new PostConstructDependent(slow);
+		}
+	}
+
+	@Configuration
+	static class LazyBackground {
+		@Bean
+		@Lazy
+		@BackgroundInit
+		Slow slow() {
+			return new Slow();
+		}
+	}
+}
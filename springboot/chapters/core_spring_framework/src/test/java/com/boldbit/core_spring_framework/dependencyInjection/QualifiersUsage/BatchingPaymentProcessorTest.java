@@ -0,0 +1,103 @@
+package com.boldbit.core_spring_framework.dependencyInjection.QualifiersUsage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchingPaymentProcessorTest {
+	private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+	private BatchingPaymentProcessor processor;
+
+	@AfterEach
+	void close() throws InterruptedException {
+		processor.destroy();
+	}
+
+	@Test
+	void paymentsAreCompletedInBatchesOfAtMostMaxSize() throws Exception {
+		processor = processor(4, payments -> payments.stream().map(p -> "paid " + p).toList());
+		List<CompletableFuture<String>> results = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			results.add(processor.submit(Integer.toString(i)));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("paid " + i);
+		}
+		assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(4));
+		assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(10);
+	}
+
+	@Test
+	void anErrorFailsItsBatchButNotTheWorker() throws Exception {
+		processor = processor(64, payments -> {
+			if (batches.size() == 1) {
+				throw new StackOverflowError("boom");
+			}
+			return payments;
+		});
+		CompletableFuture<String> failed = processor.submit("a");
+		assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(StackOverflowError.class);
+		assertThat(processor.submit("b").get(5, TimeUnit.SECONDS)).isEqualTo("b");
+	}
+
+	@Test
+	void closingFailsQueuedPaymentsAndRefusesNewOnes() throws Exception {
+		CountDownLatch inBatch = new CountDownLatch(1);
+		CountDownLatch never = new CountDownLatch(1);
+		processor = processor(1, payments -> {
+			inBatch.countDown();
+			try {
+				never.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted");
+			}
+			return payments;
+		});
+		CompletableFuture<String> running = processor.submit("running");
+		inBatch.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> queued = processor.submit("queued");
+
+		processor.destroy();
+
+		assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(RejectedExecutionException.class);
+		assertThatThrownBy(() -> processor.submit("late").get(5, TimeUnit.SECONDS))
+				.hasCauseInstanceOf(RejectedExecutionException.class);
+	}
+
+	private BatchingPaymentProcessor processor(int maxSize, Batch backend) {
+		PaymentProcessor delegate = new PaymentProcessor() {
+			@Override
+			public String processPayment(String payment) {
+				return processPayments(List.of(payment)).get(0);
+			}
+
+			@Override
+			public List<String> processPayments(List<String> payments) {
+				batches.add(payments);
+				return backend.process(payments);
+			}
+		};
+		return new BatchingPaymentProcessor(delegate, new SimpleMeterRegistry(), maxSize, Duration.ofMillis(20), 100);
+	}
+
+	private interface Batch {
+		List<String> process(List<String> payments);
+	}
+}
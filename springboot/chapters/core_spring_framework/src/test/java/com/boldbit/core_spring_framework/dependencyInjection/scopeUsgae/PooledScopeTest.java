@@ -0,0 +1,52 @@
+package com.boldbit.core_spring_framework.dependencyInjection.scopeUsgae;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import org.junit.jupiter.api.Test;
+
+class PooledScopeTest {
+	private final PooledScope scope = new PooledScope();
+
+	@Test
+	void releasedInstanceIsResetAndHandedOutAgain() {
+		PooledScopedCounter first = get();
+		first.increment();
+		scope.release(first);
+
+		PooledScopedCounter second = get();
+		assertThat(second).isSameAs(first);
+		assertThat(second.increment()).isEqualTo(1);
+		assertThat(scope.created()).isEqualTo(1);
+		assertThat(scope.reused()).isEqualTo(1);
+	}
+
+	@Test
+	void secondReleaseIsRefusedSoTwoCallersNeverShareAnInstance() {
+		PooledScopedCounter counter = get();
+		scope.release(counter);
+		assertThatIllegalStateException().isThrownBy(() -> scope.release(counter));
+
+		assertThat(get()).isSameAs(counter);
+		assertThat(get()).isNotSameAs(counter);
+	}
+
+	@Test
+	void instanceCanBeReleasedAgainAfterBeingCheckedOut() {
+		PooledScopedCounter counter = get();
+		scope.release(counter);
+		assertThat(get()).isSameAs(counter);
+		scope.release(counter);
+		assertThat(get()).isSameAs(counter);
+	}
+
+	@Test
+	void releasingSomethingThisScopeNeverCreatedIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> scope.release(new Object()));
+	}
+
+	private PooledScopedCounter get() {
+		return (PooledScopedCounter) scope.get("pooledScopedCounter", PooledScopedCounter::new);
+	}
+}
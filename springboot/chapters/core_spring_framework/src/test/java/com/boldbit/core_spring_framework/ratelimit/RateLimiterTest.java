@@ -0,0 +1,49 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+	@Test
+	void eachClientGetsItsOwnBurst() {
+		RateLimiter limiter = new RateLimiter(1, 2, Duration.ofMinutes(5), 1000);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+		assertThat(limiter.remaining("a")).isZero();
+
+		assertThat(limiter.remaining("b")).isEqualTo(2);
+		assertThat(limiter.tryAcquire("b")).isZero();
+	}
+
+	@Test
+	void refusedClientIsToldToWaitAboutOneInterval() {
+		RateLimiter limiter = new RateLimiter(10, 1, Duration.ofMinutes(5), 1000);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isBetween(1L, Duration.ofMillis(100).toNanos());
+	}
+
+	@Test
+	void crowdedLimiterDropsFullBucketsBeforeTheyExpire() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1_000_000, 1, Duration.ofHours(1), 16);
+		for (int i = 0; i < 1000; i++) {
+			limiter.tryAcquire("client-" + i);
+		}
+		Thread.sleep(150);
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire("late-" + i);
+		}
+		assertThat(limiter.clients()).isLessThan(200);
+	}
+
+	@Test
+	void rejectsNonPositiveRateOrBurst() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new RateLimiter(0, 1, Duration.ofMinutes(5), 1000));
+		assertThatIllegalArgumentException().isThrownBy(() -> new RateLimiter(1, 0, Duration.ofMinutes(5), 1000));
+	}
+}
@@ -0,0 +1,48 @@
+package com.boldbit.core_spring_framework.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+	private static final long INTERVAL = 100;
+	private static final long CAPACITY = 3 * INTERVAL;
+
+	@Test
+	void burstIsGrantedAtOnceThenCallersAreToldHowLongToWait() {
+		TokenBucket bucket = new TokenBucket(0);
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryTake(0, INTERVAL, CAPACITY)).isZero();
+		}
+		assertThat(bucket.remaining(0, INTERVAL, CAPACITY)).isZero();
+		assertThat(bucket.tryTake(0, INTERVAL, CAPACITY)).isEqualTo(INTERVAL);
+		assertThat(bucket.tryTake(40, INTERVAL, CAPACITY)).isEqualTo(INTERVAL - 40);
+	}
+
+	@Test
+	void tokensRefillOnePerIntervalUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(0);
+		for (int i = 0; i < 3; i++) {
+			bucket.tryTake(0, INTERVAL, CAPACITY);
+		}
+		assertThat(bucket.remaining(INTERVAL, INTERVAL, CAPACITY)).isEqualTo(1);
+		assertThat(bucket.tryTake(INTERVAL, INTERVAL, CAPACITY)).isZero();
+		assertThat(bucket.tryTake(INTERVAL, INTERVAL, CAPACITY)).isPositive();
+
+		assertThat(bucket.remaining(10_000, INTERVAL, CAPACITY)).isEqualTo(3);
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryTake(10_000, INTERVAL, CAPACITY)).isZero();
+		}
+		assertThat(bucket.tryTake(10_000, INTERVAL, CAPACITY)).isPositive();
+	}
+
+	@Test
+	void bucketIsIdleOnlyOnceFullForTheIdlePeriod() {
+		TokenBucket bucket = new TokenBucket(0);
+		bucket.tryTake(0, INTERVAL, CAPACITY);
+		assertThat(bucket.idle(INTERVAL - 1, 0)).isFalse();
+		assertThat(bucket.idle(INTERVAL, 0)).isTrue();
+		assertThat(bucket.idle(INTERVAL + 500, 1_000)).isFalse();
+		assertThat(bucket.idle(INTERVAL + 1_000, 1_000)).isTrue();
+	}
+}
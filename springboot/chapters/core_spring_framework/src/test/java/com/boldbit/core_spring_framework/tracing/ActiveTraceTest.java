@@ -0,0 +1,55 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ActiveTraceTest {
+
+	@Test
+	void spansNestUnderTheInnermostOpenSpan() {
+		ActiveTrace trace = new ActiveTrace(true, 64);
+		int controller = trace.open("controller", "controller");
+		int service = trace.open("service", "service");
+		int dataSource = trace.open("connect", "datasource");
+		trace.close(dataSource, false);
+		trace.close(service, false);
+		int sibling = trace.open("other", "service");
+		trace.close(sibling, true);
+		trace.close(controller, false);
+		int afterwards = trace.open("late", "service");
+		trace.close(afterwards, false);
+
+		List<Span> spans = trace.finish(7, "GET /x", 200, false).spans();
+
+		assertThat(spans).extracting(Span::name)
+				.containsExactly("GET /x", "controller", "service", "connect", "other", "late");
+		assertThat(spans).extracting(Span::parent).containsExactly(-1, 0, 1, 2, 1, 0);
+		assertThat(spans.get(4).error()).isTrue();
+		assertThat(spans).allSatisfy(span -> assertThat(span.durationMicros()).isNotNegative());
+	}
+
+	@Test
+	void unsampledTraceRecordsOnlyItsRoot() {
+		ActiveTrace trace = new ActiveTrace(false, 64);
+		assertThat(trace.open("controller", "controller")).isEqualTo(-1);
+
+		CompletedTrace completed = trace.finish(1, "GET /x", 500, true);
+
+		assertThat(completed.sampled()).isFalse();
+		assertThat(completed.spans()).singleElement().satisfies(root -> {
+			assertThat(root.kind()).isEqualTo("request");
+			assertThat(root.error()).isTrue();
+		});
+	}
+
+	@Test
+	void spansBeyondTheLimitAreDropped() {
+		ActiveTrace trace = new ActiveTrace(true, 3);
+		assertThat(trace.open("a", "service")).isEqualTo(1);
+		assertThat(trace.open("b", "service")).isEqualTo(2);
+		assertThat(trace.open("c", "service")).isEqualTo(-1);
+	}
+}
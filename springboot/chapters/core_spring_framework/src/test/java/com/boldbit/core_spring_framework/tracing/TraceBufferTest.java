@@ -0,0 +1,66 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TraceBufferTest {
+
+	@Test
+	void capacityIsRoundedUpToAPowerOfTwo() {
+		assertThat(new TraceBuffer(1000).capacity()).isEqualTo(1024);
+		assertThat(new TraceBuffer(1024).capacity()).isEqualTo(1024);
+	}
+
+	@Test
+	void wrappingOverwritesTheOldestTraces() {
+		TraceBuffer buffer = new TraceBuffer(4);
+		for (int i = 0; i < 6; i++) {
+			buffer.store(trace(buffer.claim(), i));
+		}
+
+		assertThat(buffer.written()).isEqualTo(6);
+		assertThat(buffer.slowest(10)).extracting(CompletedTrace::id).containsExactly(5L, 4L, 3L, 2L);
+	}
+
+	@Test
+	void slowestIsOrderedByDurationAndClampsItsLimit() {
+		TraceBuffer buffer = new TraceBuffer(8);
+		for (long duration : new long[] { 30, 10, 20 }) {
+			buffer.store(trace(buffer.claim(), duration));
+		}
+
+		assertThat(buffer.slowest(2)).extracting(CompletedTrace::durationMicros).containsExactly(30L, 20L);
+		assertThat(buffer.slowest(100)).hasSize(3);
+		assertThat(buffer.slowest(0)).isEmpty();
+		assertThat(buffer.slowest(-1)).isEmpty();
+	}
+
+	@Test
+	void clearEmptiesTheRingButKeepsCounting() {
+		TraceBuffer buffer = new TraceBuffer(4);
+		buffer.store(trace(buffer.claim(), 1));
+		buffer.clear();
+
+		assertThat(buffer.slowest(10)).isEmpty();
+		assertThat(buffer.claim()).isEqualTo(1);
+	}
+
+	@Test
+	void endpointTreatsANegativeLimitAsNone() {
+		Tracer tracer = new Tracer(1.0, Duration.ZERO, 64, 4);
+		tracer.buffer().store(trace(tracer.buffer().claim(), 1));
+		TracesEndpoint endpoint = new TracesEndpoint(tracer);
+
+		assertThat(endpoint.slowest(-5).slowest()).isEmpty();
+		assertThat(endpoint.slowest(null).slowest()).hasSize(1);
+	}
+
+	static CompletedTrace trace(long id, long durationMicros) {
+		return new CompletedTrace(id, "GET /x", 200, 0, durationMicros, false,
+				List.of(new Span("GET /x", "request", -1, 0, durationMicros, false)));
+	}
+}
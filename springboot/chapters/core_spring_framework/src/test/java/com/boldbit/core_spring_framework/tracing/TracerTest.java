@@ -0,0 +1,69 @@
+package com.boldbit.core_spring_framework.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class TracerTest {
+
+	@Test
+	void fastSuccessfulUnsampledRequestIsDropped() {
+		Tracer tracer = new Tracer(0, Duration.ofHours(1), 64, 16);
+		tracer.begin();
+		assertThat(tracer.active().sampled()).isFalse();
+		tracer.end("GET /x", 200, false);
+
+		assertThat(tracer.active()).isNull();
+		assertThat(tracer.buffer().written()).isZero();
+	}
+
+	@Test
+	void tailKeepsFailedRequestsWithoutTheirDetail() {
+		Tracer tracer = new Tracer(0, Duration.ofHours(1), 64, 16);
+		tracer.begin();
+		tracer.end("GET /error", 503, false);
+		tracer.begin();
+		tracer.end("GET /thrown", 200, true);
+
+		assertThat(tracer.buffer().slowest(10)).hasSize(2).allSatisfy(trace -> {
+			assertThat(trace.sampled()).isFalse();
+			assertThat(trace.spans()).singleElement().satisfies(root -> assertThat(root.error()).isTrue());
+		});
+	}
+
+	@Test
+	void tailKeepsSlowRequests() throws InterruptedException {
+		Tracer tracer = new Tracer(0, Duration.ofMillis(20), 64, 16);
+		tracer.begin();
+		Thread.sleep(30);
+		tracer.end("GET /slow", 200, false);
+
+		assertThat(tracer.buffer().slowest(10)).singleElement()
+				.satisfies(trace -> assertThat(trace.durationMicros()).isGreaterThanOrEqualTo(20_000));
+	}
+
+	@Test
+	void headSampledRequestIsKeptWithItsSpans() {
+		Tracer tracer = new Tracer(1.0, Duration.ofHours(1), 64, 16);
+		tracer.begin();
+		ActiveTrace trace = tracer.active();
+		trace.close(trace.open("controller", "controller"), false);
+		tracer.end("GET /x", 200, false);
+
+		assertThat(tracer.buffer().slowest(10)).singleElement().satisfies(kept -> {
+			assertThat(kept.sampled()).isTrue();
+			assertThat(kept.route()).isEqualTo("GET /x");
+			assertThat(kept.spans()).extracting(Span::name).containsExactly("GET /x", "controller");
+		});
+	}
+
+	@Test
+	void endWithoutBeginIsIgnored() {
+		Tracer tracer = new Tracer(1.0, Duration.ZERO, 64, 16);
+		tracer.end("GET /x", 500, true);
+
+		assertThat(tracer.buffer().written()).isZero();
+	}
+}
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# JVM vs native-image comparison for core_spring_framework:  ./native-bench.sh [requests]
+#
+# Builds the fat jar and, if GraalVM's native-image is on the PATH, the native
+# executable (mvn -Pnative native:compile). For each, reports the time Spring
+# logs at startup and the resident set size after startup and after a burst of
+# requests.
+set -euo pipefail
+
+requests=${1:-2000}
+cd "$(dirname "$0")/core_spring_framework"
+port=18090
+
+run() {
+    local label=$1; shift
+    "$@" --server.port=$port > "target/$label.log" 2>&1 &
+    local pid=$!
+    until grep -q "Started " "target/$label.log"; do
+        kill -0 $pid 2> /dev/null || { cat "target/$label.log"; exit 1; }
+        sleep 0.05
+    done
+    local started idle busy
+    started=$(grep -o "process running for [0-9.]*" "target/$label.log" | awk '{print $4}')
+    idle=$(ps -o rss= -p $pid)
+    for _ in $(seq "$requests"); do
+        curl -s -o /dev/null "localhost:$port/di/cons/constructor"
+    done
+    busy=$(ps -o rss= -p $pid)
+    kill $pid && wait $pid 2> /dev/null || true
+    printf '%-7s startup %6ss   rss idle %6d MB   rss after %d requests %6d MB\n' \
+        "$label" "$started" $((idle / 1024)) "$requests" $((busy / 1024))
+}
+
+mvn -B -q -DskipTests package
+run jvm java -jar target/core_spring_framework-0.0.1-SNAPSHOT.jar
+
+if command -v native-image > /dev/null; then
+    mvn -B -q -DskipTests -Pnative native:compile > target/native-build.log || { cat target/native-build.log; exit 1; }
+    run native target/core_spring_framework
+else
+    echo "native-image not found; install GraalVM 22.3+ to compare the native build"
+fi
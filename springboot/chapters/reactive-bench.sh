@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Servlet vs WebFlux on an endpoint that waits on a downstream HTTP call:
+#   ./reactive-bench.sh [clients] [seconds] [downstreamMillis]
+# A reactive instance of spring_boot_fundamentals plays the slow downstream
+# (/slow, a non-blocking delay), and /downstream is loaded once on Tomcat with
+# RestClient and once on Netty with WebClient. Tomcat holds a thread per
+# in-flight call, so with its pool pinned at 200 threads (the LEAN performance
+# mode would otherwise shrink it on a small host) it tops out near 200 / delay;
+# Netty does not.
+# The load client is firstspring's BlockingLoad, which needs a Java 21 `java`.
+set -euo pipefail
+
+clients=${1:-600}
+seconds=${2:-20}
+delay=${3:-2000}
+cd "$(dirname "$0")/spring_boot_fundamentals"
+jar=target/spring_boot_fundamentals-0.0.1-SNAPSHOT.jar
+load=../../firstspring/load/BlockingLoad.java
+downstream_port=18096
+port=18097
+pids=()
+trap 'kill "${pids[@]}" 2> /dev/null || true' EXIT
+
+start() {
+    local label=$1; shift
+    java -jar $jar "$@" > "target/$label.log" 2>&1 &
+    local pid=$!
+    pids+=($pid)
+    until grep -q "Started " "target/$label.log"; do
+        kill -0 $pid 2> /dev/null || { cat "target/$label.log"; exit 1; }
+        sleep 0.2
+    done
+    last=$pid
+}
+
+run() {
+    local label=$1; shift
+    start "$label" --server.port=$port \
+        "--downstream.url=http://localhost:$downstream_port/slow?millis=$delay" "$@"
+    java $load "http://localhost:$port/downstream" 50 3 > /dev/null
+    printf '%-9s ' "$label"
+    java $load "http://localhost:$port/downstream" "$clients" "$seconds"
+    kill $last && wait $last 2> /dev/null || true
+}
+
+mvn -B -q -DskipTests package
+start downstream --server.port=$downstream_port --spring.profiles.active=reactive
+run servlet --server.tomcat.threads.max=200
+run reactive --spring.profiles.active=reactive
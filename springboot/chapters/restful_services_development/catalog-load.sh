@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Constant-memory check for the catalog API:  ./catalog-load.sh [pageLimit] [streamClients] [streamRounds]
+#
+# Walks all keyset pages, then streams the full 100k-row listing from several
+# clients while sampling the server's live heap (after a forced full GC). With
+# keyset pages and incremental streaming, neither page depth nor concurrent
+# full-table responses should move the live heap.
+set -euo pipefail
+
+limit=${1:-100}
+clients=${2:-8}
+rounds=${3:-5}
+cd "$(dirname "$0")"
+port=18096
+base="http://localhost:$port"
+
+live_heap_mb() {
+    jcmd "$1" GC.run > /dev/null
+    jstat -gc "$1" | tail -1 | awk '{printf "%.1f", ($3 + $4 + $6 + $8) / 1024}'
+}
+
+mvn -B -q -DskipTests package
+java -Xmx256m -jar target/restful_services_development-0.0.1-SNAPSHOT.jar --server.port=$port > target/catalog-load.log 2>&1 &
+pid=$!
+trap 'kill $pid 2> /dev/null || true' EXIT
+until grep -q "Started " target/catalog-load.log; do
+    kill -0 $pid 2> /dev/null || { cat target/catalog-load.log; exit 1; }
+    sleep 0.2
+done
+
+echo "live heap after startup: $(live_heap_mb $pid) MB"
+java load/CatalogLoad.java pages "$base" "$limit"
+echo "live heap after paging:  $(live_heap_mb $pid) MB"
+
+java load/CatalogLoad.java stream "$base" "$clients" "$rounds" &
+load=$!
+while kill -0 $load 2> /dev/null; do
+    sleep 2
+    kill -0 $load 2> /dev/null && echo "live heap while streaming: $(live_heap_mb $pid) MB, rss $(( $(ps -o rss= -p $pid) / 1024 )) MB"
+done
+wait $load
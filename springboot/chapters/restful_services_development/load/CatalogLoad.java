@@ -0,0 +1,90 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load for the catalog API. "pages" walks every keyset page and compares the
+ * latency of the first and last pages (they should match: no OFFSET scan).
+ * "stream" downloads the full streamed listing repeatedly from several clients.
+ *
+ *   java load/CatalogLoad.java pages  http://localhost:8080 LIMIT
+ *   java load/CatalogLoad.java stream http://localhost:8080 CLIENTS ROUNDS
+ */
+public class CatalogLoad {
+    private static final Pattern NEXT = Pattern.compile("\"next\":(\\d+|null)");
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        String base = args[1];
+        if (args[0].equals("pages")) {
+            pages(base, Integer.parseInt(args[2]));
+        } else {
+            stream(base, Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        }
+    }
+
+    private static void pages(String base, int limit) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+        String after = "0";
+        while (true) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = HTTP.send(
+                    HttpRequest.newBuilder(URI.create(base + "/products?limit=" + limit + "&after=" + after)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            latencies.add(System.nanoTime() - start);
+            Matcher next = NEXT.matcher(response.body());
+            if (response.statusCode() != 200 || !next.find() || next.group(1).equals("null")) {
+                break;
+            }
+            after = next.group(1);
+        }
+        int tenth = Math.max(1, latencies.size() / 10);
+        System.out.printf("pages=%d first10%%-p50=%.2fms last10%%-p50=%.2fms%n", latencies.size(),
+                median(latencies.subList(0, tenth)), median(latencies.subList(latencies.size() - tenth, latencies.size())));
+    }
+
+    private static void stream(String base, int clients, int rounds) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Long>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            results.add(pool.submit(() -> {
+                long bytes = 0;
+                for (int r = 0; r < rounds; r++) {
+                    HttpResponse<InputStream> response = HTTP.send(
+                            HttpRequest.newBuilder(URI.create(base + "/products/stream")).build(),
+                            HttpResponse.BodyHandlers.ofInputStream());
+                    try (InputStream in = response.body()) {
+                        bytes += in.transferTo(OutputStream.nullOutputStream());
+                    }
+                }
+                return bytes;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> result : results) {
+            total += result.get();
+        }
+        pool.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("streams=%d bytes=%d in %.1fs (%.0f MB/s)%n", clients * rounds, total, seconds,
+                total / seconds / 1e6);
+    }
+
+    private static double median(List<Long> values) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1e6;
+    }
+}
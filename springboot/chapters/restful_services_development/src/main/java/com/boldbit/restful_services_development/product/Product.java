@@ -0,0 +1,7 @@
+package com.boldbit.restful_services_development.product;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record Product(long id, String name, String category, BigDecimal price, Instant updatedAt) {
+}
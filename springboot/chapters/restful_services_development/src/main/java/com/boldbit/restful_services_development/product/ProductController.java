@@ -0,0 +1,108 @@
+package com.boldbit.restful_services_development.product;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@RestController
+@RequestMapping("/products")
+public class ProductController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    // Let the servlet buffer decide when to flush; flushing per row would defeat compression.
+    private final ObjectWriter rowWriter;
+
+    public ProductController(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(Product.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /** Keyset page: pass the previous page's next value as after. The Link header carries the next URL. */
+    @GetMapping
+    public ResponseEntity<ProductPage> page(@RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") long after, @RequestParam(defaultValue = "100") int limit,
+            WebRequest request) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Product> items = productRepository.page(category, after, size);
+        // The ETag is computed from the rows, before any JSON is written, so a 304 skips serialization.
+        if (request.checkNotModified(etag(items, after, size))) {
+            return null;
+        }
+        Long next = items.size() < size ? null : items.get(items.size() - 1).id();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            String link = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after", next)
+                    .replaceQueryParam("limit", size).toUriString();
+            response.header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return response.body(new ProductPage(items, next));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Product> product(@PathVariable long id, WebRequest request) {
+        Product product = productRepository.find(id);
+        if (product == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag(List.of(product), 0, 1))) {
+            return null;
+        }
+        return ResponseEntity.ok(product);
+    }
+
+    /**
+     * The whole listing as one JSON array, written row by row while the query is
+     * still being read, so memory use does not grow with the result size.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(required = false) String category,
+            WebRequest request) {
+        if (request.checkNotModified("W/\"" + productRepository.version(category) + "\"")) {
+            return null;
+        }
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                productRepository.forEach(category, product -> {
+                    try {
+                        rowWriter.writeValue(json, product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Weak, because compression changes the bytes but not the content.
+    private static String etag(List<Product> items, long after, int size) {
+        long hash = 31 * after + size;
+        for (Product product : items) {
+            hash = 31 * hash + product.id();
+            hash = 31 * hash + product.updatedAt().toEpochMilli();
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,7 @@
+package com.boldbit.restful_services_development.product;
+
+import java.util.List;
+
+/** One keyset page; next is the cursor for the following page, or null on the last one. */
+public record ProductPage(List<Product> items, Long next) {
+}
@@ -0,0 +1,67 @@
+package com.boldbit.restful_services_development.product;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset access to the catalog. Pages seek on the primary key (WHERE id > ?)
+ * instead of using OFFSET, so page 1000 costs the same index seek as page 1.
+ */
+@Repository
+public class ProductRepository {
+    private static final String COLUMNS = "SELECT id, name, category, price, updated_at FROM product ";
+    private static final RowMapper<Product> MAPPER = ProductRepository::map;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Product> page(String category, long after, int limit) {
+        if (category == null) {
+            return jdbcTemplate.query(COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?", MAPPER, after, limit);
+        }
+        return jdbcTemplate.query(COLUMNS + "WHERE category = ? AND id > ? ORDER BY id LIMIT ?", MAPPER, category,
+                after, limit);
+    }
+
+    public Product find(long id) {
+        List<Product> found = jdbcTemplate.query(COLUMNS + "WHERE id = ?", MAPPER, id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /** Row count and latest update, a cheap version stamp for conditional requests on whole listings. */
+    public String version(String category) {
+        String sql = "SELECT COUNT(*), MAX(updated_at) FROM product" + (category == null ? "" : " WHERE category = ?");
+        Object[] args = category == null ? new Object[0] : new Object[] { category };
+        return jdbcTemplate.queryForObject(sql, (rs, row) -> rs.getLong(1) + "-" + rs.getObject(2), args);
+    }
+
+    /** Hands rows to the consumer one at a time as the driver fetches them; nothing is collected. */
+    public void forEach(String category, Consumer<Product> consumer) {
+        String sql = COLUMNS + (category == null ? "" : "WHERE category = ? ") + "ORDER BY id";
+        Object[] args = category == null ? new Object[0] : new Object[] { category };
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(500);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(map(rs, 0)));
+    }
+
+    private static Product map(ResultSet rs, int row) throws SQLException {
+        return new Product(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBigDecimal(4),
+                rs.getObject(5, OffsetDateTime.class).toInstant());
+    }
+}
@@ -0,0 +1,4 @@
+INSERT INTO product (id, name, category, price, updated_at)
+SELECT X, 'Product ' || X, 'category-' || MOD(X, 20), MOD(X * 7919, 100000) / 100.0, TIMESTAMP WITH TIME ZONE '2024-01-01 00:00:00Z'
+FROM SYSTEM_RANGE(1, 100000)
+WHERE NOT EXISTS (SELECT 1 FROM product);
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    category VARCHAR(40) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Keyset scans within a category seek on (category, id).
+CREATE INDEX IF NOT EXISTS product_category_id ON product (category, id);
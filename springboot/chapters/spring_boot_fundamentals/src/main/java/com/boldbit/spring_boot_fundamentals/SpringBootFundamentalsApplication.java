@@ -2,17 +2,29 @@ package com.boldbit.spring_boot_fundamentals;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
 
+import com.boldbit.spring_boot_fundamentals.hotpaths.HotPathsConfiguration;
 import com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.Lazy.MyLazyBean;
+import com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional.ConditionalImpl;
+import com.boldbit.spring_boot_fundamentals.reactive.ReactiveRoutes;
+import com.boldbit.spring_boot_fundamentals.reactive.ServletRoutes;
+import com.boldbit.spring_boot_fundamentals.startup.StartupReport;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.Lazy")
+@Import({ HotPathsConfiguration.class, ReactiveRoutes.class, ServletRoutes.class, ConditionalImpl.class })
 public class SpringBootFundamentalsApplication {
 
 	public static void main(String[] args) {
-		ApplicationContext context = SpringApplication.run(SpringBootFundamentalsApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringBootFundamentalsApplication.class);
+		BufferingApplicationStartup startup = StartupReport.newStartup();
+		application.setApplicationStartup(startup);
+		application.addListeners(new StartupReport(startup));
+		ApplicationContext context = application.run(args);
 
 		// The MyLazyBean should not be initialized at this point
         System.out.println("Spring Boot application started.");
@@ -0,0 +1,77 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Per-collector pause histograms fed by the JVM's GC notifications, so nothing
+ * is polled. Collectors whose notifications describe whole concurrent cycles
+ * (ZGC and Shenandoah "Cycles") are skipped, as their durations are not pauses.
+ */
+public class GcPauses implements NotificationListener, AutoCloseable {
+    private final Map<String, LatencyHistogram> pauses = new ConcurrentHashMap<>();
+
+    public GcPauses() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData());
+        record(info.getGcName(), info.getGcInfo().getDuration());
+    }
+
+    void record(String collector, long durationMillis) {
+        if (collector.endsWith("Cycles")) {
+            return;
+        }
+        pauses.computeIfAbsent(collector, name -> new LatencyHistogram()).record(durationMillis * 1_000_000);
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        pauses.forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            snapshot.put(name, new Snapshot(s.count(), s.p99Nanos() / 1e6, s.maxNanos() / 1e6));
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        pauses.clear();
+    }
+
+    @Override
+    public void close() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException ignored) {
+                }
+            }
+        }
+    }
+
+    public record Snapshot(long pauses, double p99Millis, double maxMillis) {
+    }
+}
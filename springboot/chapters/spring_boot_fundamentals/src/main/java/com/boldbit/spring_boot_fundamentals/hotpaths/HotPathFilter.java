@@ -0,0 +1,53 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times every request and, for one in allocationSampling of them, reads the
+ * thread's allocated-bytes counter before and after. Allocation done on other
+ * threads (async dispatch) is not attributed to the request.
+ */
+public class HotPathFilter extends OncePerRequestFilter {
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final HotPathStats stats;
+    private final int allocationSampling;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public HotPathFilter(HotPathStats stats, int allocationSampling) {
+        this.stats = stats;
+        this.allocationSampling = allocationSampling;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = threads != null && allocationSampling > 0
+                && ThreadLocalRandom.current().nextInt(allocationSampling) == 0;
+        long allocatedBefore = sampled ? threads.getCurrentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            RouteStats route = stats.route(request.getMethod(), pattern instanceof String p ? p : UNMAPPED);
+            route.record(elapsed, response.getStatus(), System.currentTimeMillis());
+            if (sampled) {
+                route.recordAllocation(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+    }
+}
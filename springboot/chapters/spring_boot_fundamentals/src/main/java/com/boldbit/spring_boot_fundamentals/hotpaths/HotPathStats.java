@@ -0,0 +1,35 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Route statistics keyed by HTTP method and then by the matched handler
+ * pattern, so a lookup on the request path concatenates nothing and the
+ * number of keys stays bounded by the number of mappings.
+ */
+public class HotPathStats {
+    private final Map<String, Map<String, RouteStats>> routes = new ConcurrentHashMap<>();
+
+    RouteStats route(String method, String pattern) {
+        Map<String, RouteStats> byPattern = routes.get(method);
+        if (byPattern == null) {
+            byPattern = routes.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        }
+        RouteStats stats = byPattern.get(pattern);
+        return stats != null ? stats : byPattern.computeIfAbsent(pattern, p -> new RouteStats());
+    }
+
+    public Map<String, RouteStats.Snapshot> snapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, RouteStats.Snapshot> snapshot = new TreeMap<>();
+        routes.forEach((method, byPattern) -> byPattern
+                .forEach((pattern, stats) -> snapshot.put(method + " " + pattern, stats.snapshot(now))));
+        return snapshot;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+}
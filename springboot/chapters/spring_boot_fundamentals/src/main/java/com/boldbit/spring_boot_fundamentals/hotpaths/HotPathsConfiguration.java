@@ -0,0 +1,35 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class HotPathsConfiguration {
+
+    @Bean
+    public HotPathStats hotPathStats() {
+        return new HotPathStats();
+    }
+
+    @Bean
+    public GcPauses gcPauses() {
+        return new GcPauses();
+    }
+
+    @Bean
+    public FilterRegistrationBean<HotPathFilter> hotPathFilter(HotPathStats stats,
+            @Value("${hotpaths.allocation-sampling:16}") int allocationSampling) {
+        FilterRegistrationBean<HotPathFilter> registration = new FilterRegistrationBean<>(
+                new HotPathFilter(stats, allocationSampling));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public HotPathsEndpoint hotPathsEndpoint(HotPathStats stats, GcPauses gcPauses) {
+        return new HotPathsEndpoint(stats, gcPauses);
+    }
+}
@@ -0,0 +1,33 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "hotpaths")
+public class HotPathsEndpoint {
+
+    private final HotPathStats stats;
+    private final GcPauses gcPauses;
+
+    public HotPathsEndpoint(HotPathStats stats, GcPauses gcPauses) {
+        this.stats = stats;
+        this.gcPauses = gcPauses;
+    }
+
+    @ReadOperation
+    public HotPaths hotPaths() {
+        return new HotPaths(stats.snapshot(), gcPauses.snapshot());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+        gcPauses.reset();
+    }
+
+    public record HotPaths(Map<String, RouteStats.Snapshot> routes, Map<String, GcPauses.Snapshot> gc) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Events per second over the last WINDOW seconds, as a ring of per-second
+ * counters. Each slot packs the second it holds into its high half and the
+ * count into its low half, so the first writer of a new second swaps both in
+ * one CAS: no other writer's count is lost and no reader sees the new second
+ * with the old count. Stale slots never need a sweeper thread.
+ */
+public class RateWindow {
+    private static final int WINDOW = 60;
+    private static final int COUNT_BITS = 32;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots = new AtomicLongArray(WINDOW);
+    private final AtomicLong firstSecond = new AtomicLong(Long.MAX_VALUE);
+
+    public void record(long nowMillis) {
+        long second = nowMillis / 1000;
+        if (second < firstSecond.get()) {
+            firstSecond.accumulateAndGet(second, Math::min);
+        }
+        int slot = (int) (second % WINDOW);
+        while (true) {
+            long packed = slots.get(slot);
+            long held = packed >>> COUNT_BITS;
+            if (held > second) {
+                // A writer with a later clock has already moved the slot on.
+                return;
+            }
+            long next = held == second ? packed + 1 : second << COUNT_BITS | 1;
+            if (slots.compareAndSet(slot, packed, next)) {
+                return;
+            }
+        }
+    }
+
+    // Until a full window has passed, the rate is over the seconds seen so far, not all WINDOW.
+    public double perSecond(long nowMillis) {
+        long current = nowMillis / 1000;
+        long first = firstSecond.get();
+        if (first > current) {
+            return 0;
+        }
+        long total = 0;
+        for (int slot = 0; slot < WINDOW; slot++) {
+            long packed = slots.get(slot);
+            if (current - (packed >>> COUNT_BITS) < WINDOW) {
+                total += packed & COUNT_MASK;
+            }
+        }
+        return (double) total / Math.min(WINDOW, current - first + 1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counters for one route: rate, latency histogram and sampled allocation. */
+public class RouteStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final RateWindow rate = new RateWindow();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationSamples = new LongAdder();
+
+    void record(long nanos, int status, long nowMillis) {
+        latency.record(nanos);
+        rate.record(nowMillis);
+        if (status >= 500) {
+            errors.increment();
+        }
+    }
+
+    void recordAllocation(long bytes) {
+        allocatedBytes.add(bytes);
+        allocationSamples.increment();
+    }
+
+    Snapshot snapshot(long nowMillis) {
+        LatencyHistogram.Snapshot latencies = latency.snapshot();
+        long samples = allocationSamples.sum();
+        return new Snapshot(latencies.count(), errors.sum(), rate.perSecond(nowMillis),
+                latencies.p50Nanos() / 1e6, latencies.p99Nanos() / 1e6, latencies.maxNanos() / 1e6,
+                samples == 0 ? 0 : allocatedBytes.sum() / samples, samples);
+    }
+
+    public record Snapshot(long count, long serverErrors, double requestsPerSecond, double p50Millis,
+            double p99Millis, double maxMillis, long allocatedBytesPerRequest, long allocationSamples) {
+    }
+}
@@ -1,16 +1,63 @@
 package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
 
+import org.apache.catalina.core.StandardThreadExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.usage.MyBean;
 
 @Configuration
 public class ConditionalImpl {
+    private static final Logger log = LoggerFactory.getLogger(ConditionalImpl.class);
+
     @Bean
     @Conditional(MyCondition.class)
     public MyBean myBean() {
         return new MyBean();
     }
+
+    // Few request threads and one kept spare: little sits idle on a small container.
+    @Bean
+    @ConditionalOnPerformanceMode(PerformanceMode.LEAN)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> requestThreads(Environment environment) {
+        log.info("Performance mode LEAN: up to 20 request threads, 1 spare");
+        return tomcatThreads(environment, 1, 20);
+    }
+
+    // Spare threads kept warm for every core, and room for a slow downstream to hold many more.
+    @Bean(name = "requestThreads")
+    @ConditionalOnPerformanceMode(PerformanceMode.HIGH)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> pooledRequestThreads(Environment environment) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int spare = Math.max(10, 2 * cores);
+        int max = Math.max(200, 25 * cores);
+        log.info("Performance mode HIGH: up to {} request threads, {} spare", max, spare);
+        return tomcatThreads(environment, spare, max);
+    }
+
+    // Runs after Boot's own Tomcat customizer and leaves explicit server.tomcat.threads.* settings alone;
+    // with virtual threads enabled Tomcat has no pool to size and this does nothing.
+    private static WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatThreads(Environment environment,
+            int minSpare, int max) {
+        Binder binder = Binder.get(environment);
+        boolean minSpareSet = binder.bind("server.tomcat.threads.min-spare", Integer.class).isBound();
+        boolean maxSet = binder.bind("server.tomcat.threads.max", Integer.class).isBound();
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler().getExecutor() instanceof StandardThreadExecutor executor) {
+                int newMax = maxSet ? executor.getMaxThreads() : max;
+                int newMinSpare = minSpareSet ? executor.getMinSpareThreads() : Math.min(minSpare, newMax);
+                // Lower the spare count first, so it never exceeds the maximum in between.
+                executor.setMinSpareThreads(Math.min(newMinSpare, executor.getMinSpareThreads()));
+                executor.setMaxThreads(newMax);
+                executor.setMinSpareThreads(newMinSpare);
+            }
+        });
+    }
 }
@@ -0,0 +1,23 @@
+package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * Registers the bean only when the detected PerformanceMode is the given one,
+ * so a lean and a high-performance variant of a bean can sit side by side.
+ * Under AOT (the faststart profile) conditions are evaluated at build time,
+ * so the mode is that of the build host unless performance.mode is set there.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(MyCondition.class)
+public @interface ConditionalOnPerformanceMode {
+    PerformanceMode value();
+}
@@ -1,5 +1,7 @@
 package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
 
+import java.util.Map;
+
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.type.AnnotatedTypeMetadata;
@@ -8,7 +10,11 @@ public class MyCondition implements Condition {
 
     @Override
     public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
-        // Condition logic here
-        return true; // Example condition always returns true
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnPerformanceMode.class.getName());
+        if (attributes == null) {
+            // Used directly through @Conditional(MyCondition.class): no mode asked for, so any mode will do.
+            return true;
+        }
+        return PerformanceMode.detect(context.getEnvironment()) == attributes.get("value");
     }
-}
\ No newline at end of file
+}
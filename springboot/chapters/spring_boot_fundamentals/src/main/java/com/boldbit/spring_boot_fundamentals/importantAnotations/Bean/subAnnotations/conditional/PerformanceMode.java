@@ -0,0 +1,31 @@
+package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * LEAN for small containers, HIGH for hosts with room for pools and caches.
+ * performance.mode=lean|high forces a mode; the default, auto, picks HIGH when
+ * the JVM sees at least performance.high.min-cores processors and a max heap of
+ * at least performance.high.min-heap.
+ */
+public enum PerformanceMode {
+    LEAN, HIGH;
+
+    public static PerformanceMode detect(Environment environment) {
+        String mode = environment.getProperty("performance.mode", "auto").trim();
+        if (!mode.equalsIgnoreCase("auto")) {
+            try {
+                return valueOf(mode.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Expected performance.mode to be auto, lean or high but got '" + mode + "'", e);
+            }
+        }
+        int minCores = environment.getProperty("performance.high.min-cores", Integer.class, 4);
+        DataSize minHeap = DataSize.parse(environment.getProperty("performance.high.min-heap", "1GB"));
+        boolean large = Runtime.getRuntime().availableProcessors() >= minCores
+                && Runtime.getRuntime().maxMemory() >= minHeap.toBytes();
+        return large ? HIGH : LEAN;
+    }
+}
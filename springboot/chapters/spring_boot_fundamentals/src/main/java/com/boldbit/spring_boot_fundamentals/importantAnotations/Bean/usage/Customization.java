@@ -1,20 +1,61 @@
 package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.usage;
 
-import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 @Configuration
 public class Customization {
+    private static final Logger log = LoggerFactory.getLogger(Customization.class);
+
+    // URL, credentials and pool sizes come from application-{profile}.properties, as in core_spring_framework.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Hikari only fills minimumIdle in the background, so hold that many connections at once before the server starts.
     @Bean
-    public DataSource dataSource() {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setDriverClassName("com.mysql.jdbc.Driver");
-        dataSource.setUrl("jdbc:mysql://localhost:3306/mydb");
-        dataSource.setUsername("username");
-        dataSource.setPassword("password");
-        // return (DataSource) dataSource;
-        return null;
+    public SmartInitializingSingleton dataSourceWarmUp(HikariDataSource dataSource,
+            @Value("${datasource.warm-up.statements:SELECT 1}") String[] statements) {
+        return () -> {
+            long start = System.nanoTime();
+            List<Connection> held = new ArrayList<>();
+            try {
+                for (int i = 0; i < Math.max(1, dataSource.getMinimumIdle()); i++) {
+                    Connection connection = dataSource.getConnection();
+                    held.add(connection);
+                    for (String sql : statements) {
+                        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                            statement.execute();
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("DataSource warm-up failed", e);
+            } finally {
+                for (Connection connection : held) {
+                    try {
+                        connection.close();
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }
+            log.info("Warmed up {} connections in {}ms", held.size(), (System.nanoTime() - start) / 1_000_000);
+        };
     }
 }
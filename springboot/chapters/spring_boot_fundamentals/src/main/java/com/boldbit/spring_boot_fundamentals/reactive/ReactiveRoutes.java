@@ -0,0 +1,70 @@
+package com.boldbit.spring_boot_fundamentals.reactive;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Functional WebFlux equivalents of the servlet endpoints, active under the
+ * reactive profile. Every handler returns without blocking an event-loop thread;
+ * /downstream goes out through WebClient on the same Netty event loops.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutes {
+
+    // Tomcat is on the classpath too and would otherwise be picked for the reactive server.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Reactor Netty pools 500 connections per host by default; past that, calls queue for a connection.
+    @Bean
+    public WebClient downstreamClient(WebClient.Builder builder,
+            @Value("${downstream.max-connections:2000}") int maxConnections) {
+        ConnectionProvider connections = ConnectionProvider.builder("downstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        return builder.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections))).build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> routes(WebClient downstreamClient,
+            @Value("${downstream.url:http://localhost:8080/slow?millis=50}") String downstreamUrl) {
+        return RouterFunctions.route()
+                .GET("/", request -> ServerResponse.ok().bodyValue("Hello, Spring Boot!"))
+                .GET("/slow", request -> {
+                    long millis = request.queryParam("millis").map(ReactiveRoutes::millis).orElse(100L);
+                    return Mono.delay(Duration.ofMillis(millis)).then(ServerResponse.ok().bodyValue("slept " + millis));
+                })
+                .GET("/downstream", request -> downstreamClient.get().uri(downstreamUrl).retrieve()
+                        .bodyToMono(String.class)
+                        .flatMap(body -> ServerResponse.ok().bodyValue("downstream said: " + body)))
+                .build();
+    }
+
+    // A malformed value is the caller's mistake, as @RequestParam makes it on the servlet side.
+    private static long millis(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("millis must be a whole number: " + value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.boldbit.spring_boot_fundamentals.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+
+// Blocking counterparts of the ReactiveRoutes handlers, for comparing the two stacks.
+@RestController
+@Profile("!reactive")
+public class ServletRoutes {
+    private final RestClient downstreamClient;
+    private final String downstreamUrl;
+
+    public ServletRoutes(RestClient.Builder builder,
+            @Value("${downstream.url:http://localhost:8080/slow?millis=50}") String downstreamUrl) {
+        this.downstreamClient = builder.build();
+        this.downstreamUrl = downstreamUrl;
+    }
+
+    @GetMapping("/slow")
+    public String slow(@RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "slept " + millis;
+    }
+
+    @GetMapping("/downstream")
+    public String downstream() {
+        return "downstream said: " + downstreamClient.get().uri(downstreamUrl).retrieve().body(String.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.boldbit.spring_boot_fundamentals.startup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Logs the ten beans that took longest to instantiate, net of the beans they
+ * pulled in, once the application is ready. This module builds on its own, so
+ * it carries the same report as core_spring_framework rather than sharing it.
+ */
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+    private static final int TOP = 10;
+
+    private final BufferingApplicationStartup startup;
+
+    public StartupReport(BufferingApplicationStartup startup) {
+        this.startup = startup;
+    }
+
+    public static BufferingApplicationStartup newStartup() {
+        return new BufferingApplicationStartup(10_000);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        List<TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (TimelineEvent timelineEvent : events) {
+            Long parent = timelineEvent.getStartupStep().getParentId();
+            if (parent != null) {
+                childTime.merge(parent, timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+        List<BeanTiming> beans = new ArrayList<>();
+        for (TimelineEvent timelineEvent : events) {
+            StartupStep step = timelineEvent.getStartupStep();
+            if (step.getName().equals("spring.beans.instantiate")) {
+                Duration self = timelineEvent.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+                beans.add(new BeanTiming(beanName(step), timelineEvent.getDuration(), self));
+            }
+        }
+        beans.sort(Comparator.comparing(BeanTiming::self).reversed());
+        log.info("Started in {}ms, {} beans instantiated; slowest by self time:",
+                event.getTimeTaken() == null ? "?" : event.getTimeTaken().toMillis(), beans.size());
+        for (BeanTiming bean : beans.subList(0, Math.min(TOP, beans.size()))) {
+            log.info("  {}ms self, {}ms total  {}", bean.self().toMillis(), bean.total().toMillis(), bean.name());
+        }
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private record BeanTiming(String name, Duration total, Duration self) {
+    }
+}
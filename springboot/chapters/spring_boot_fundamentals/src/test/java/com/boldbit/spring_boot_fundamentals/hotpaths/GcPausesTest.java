@@ -0,0 +1,39 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.management.Notification;
+
+import org.junit.jupiter.api.Test;
+
+class GcPausesTest {
+
+	@Test
+	void pausesAreRecordedPerCollector() {
+		try (GcPauses pauses = new GcPauses()) {
+			pauses.record("Test Young", 3);
+			pauses.record("Test Young", 7);
+
+			GcPauses.Snapshot young = pauses.snapshot().get("Test Young");
+			assertThat(young.pauses()).isEqualTo(2);
+			assertThat(young.maxMillis()).isEqualTo(7.0);
+		}
+	}
+
+	@Test
+	void concurrentCycleCollectorsAreNotCountedAsPauses() {
+		try (GcPauses pauses = new GcPauses()) {
+			pauses.record("Test Cycles", 250);
+			assertThat(pauses.snapshot()).doesNotContainKey("Test Cycles");
+		}
+	}
+
+	@Test
+	void otherNotificationsAreIgnored() {
+		try (GcPauses pauses = new GcPauses()) {
+			pauses.reset();
+			pauses.handleNotification(new Notification("jmx.attribute.change", this, 1), null);
+			assertThat(pauses.snapshot()).allSatisfy((name, snapshot) -> assertThat(name).doesNotStartWith("Test"));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class HotPathStatsTest {
+	private final HotPathStats stats = new HotPathStats();
+
+	@Test
+	void routesAreKeyedByMethodAndPattern() {
+		assertThat(stats.route("GET", "/slow")).isSameAs(stats.route("GET", "/slow"));
+		assertThat(stats.route("POST", "/slow")).isNotSameAs(stats.route("GET", "/slow"));
+		assertThat(stats.snapshot()).containsOnlyKeys("GET /slow", "POST /slow");
+	}
+
+	@Test
+	void snapshotReportsCountsErrorsAndLatency() {
+		long now = System.currentTimeMillis();
+		RouteStats route = stats.route("GET", "/slow");
+		route.record(2_000_000, 200, now);
+		route.record(4_000_000, 503, now);
+		route.record(1_000_000, 404, now);
+		route.recordAllocation(1_000);
+		route.recordAllocation(3_000);
+
+		Map<String, RouteStats.Snapshot> snapshot = stats.snapshot();
+		RouteStats.Snapshot slow = snapshot.get("GET /slow");
+		assertThat(slow.count()).isEqualTo(3);
+		assertThat(slow.serverErrors()).isEqualTo(1);
+		assertThat(slow.maxMillis()).isEqualTo(4.0);
+		assertThat(slow.p50Millis()).isBetween(2.0, 2.1);
+		assertThat(slow.allocatedBytesPerRequest()).isEqualTo(2_000);
+		assertThat(slow.allocationSamples()).isEqualTo(2);
+	}
+
+	@Test
+	void resetForgetsEveryRoute() {
+		stats.route("GET", "/slow").record(1, 200, System.currentTimeMillis());
+		stats.reset();
+		assertThat(stats.snapshot()).isEmpty();
+	}
+}
@@ -0,0 +1,73 @@
+package com.boldbit.spring_boot_fundamentals.hotpaths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+class RateWindowTest {
+	private static final long START = 1_700_000_000_000L;
+
+	@Test
+	void rateDuringTheFirstMinuteIsOverTheSecondsSeenSoFar() {
+		RateWindow window = new RateWindow();
+		for (int second = 0; second < 10; second++) {
+			for (int i = 0; i < 5; i++) {
+				window.record(START + second * 1000L);
+			}
+		}
+		assertThat(window.perSecond(START + 9_000)).isCloseTo(5.0, within(1e-9));
+	}
+
+	@Test
+	void rateAfterAFullMinuteIsOverTheWholeWindow() {
+		RateWindow window = new RateWindow();
+		for (int second = 0; second < 120; second++) {
+			window.record(START + second * 1000L);
+			window.record(START + second * 1000L);
+		}
+		assertThat(window.perSecond(START + 119_000)).isCloseTo(2.0, within(1e-9));
+	}
+
+	@Test
+	void slotsOlderThanTheWindowStopCounting() {
+		RateWindow window = new RateWindow();
+		window.record(START);
+		assertThat(window.perSecond(START + 60_000)).isZero();
+		assertThat(window.perSecond(START - 1_000)).isZero();
+	}
+
+	@Test
+	void concurrentWritersRollingASlotOverLoseNothing() throws InterruptedException {
+		RateWindow window = new RateWindow();
+		window.record(START);
+		long nextLap = START + 60_000;
+		int threads = 8;
+		int perThread = 10_000;
+		CountDownLatch go = new CountDownLatch(1);
+		List<Thread> writers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread writer = new Thread(() -> {
+				try {
+					go.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					window.record(nextLap);
+				}
+			});
+			writer.start();
+			writers.add(writer);
+		}
+		go.countDown();
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		assertThat(window.perSecond(nextLap) * 60).isCloseTo(threads * perThread, within(1e-6));
+	}
+}
@@ -0,0 +1,71 @@
+package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+class MyConditionTest {
+	private final ApplicationContextRunner runner = new ApplicationContextRunner()
+			.withUserConfiguration(Variants.class);
+
+	@Test
+	void onlyTheVariantForTheDetectedModeIsRegistered() {
+		runner.withPropertyValues("performance.mode=lean").run(context -> {
+			assertThat(context).hasBean("lean").doesNotHaveBean("high");
+			assertThat(context.getBean("variant")).isEqualTo("lean");
+		});
+		runner.withPropertyValues("performance.mode=high").run(context -> {
+			assertThat(context).hasBean("high").doesNotHaveBean("lean");
+			assertThat(context.getBean("variant")).isEqualTo("high");
+		});
+	}
+
+	@Test
+	void plainConditionalMatchesInEitherMode() {
+		runner.withPropertyValues("performance.mode=lean").run(context -> assertThat(context).hasBean("always"));
+		runner.withPropertyValues("performance.mode=high").run(context -> assertThat(context).hasBean("always"));
+	}
+
+	@Test
+	void unknownModeFailsStartupWithTheReason() {
+		runner.withPropertyValues("performance.mode=bogus").run(context -> assertThat(context).hasFailed()
+				.getFailure().hasStackTraceContaining("Expected performance.mode to be auto, lean or high but got 'bogus'"));
+	}
+
+	@Configuration
+	static class Variants {
+		@Bean
+		@ConditionalOnPerformanceMode(PerformanceMode.LEAN)
+		String lean() {
+			return "lean";
+		}
+
+		@Bean
+		@ConditionalOnPerformanceMode(PerformanceMode.HIGH)
+		String high() {
+			return "high";
+		}
+
+		@Bean
+		@ConditionalOnPerformanceMode(PerformanceMode.LEAN)
+		String variant() {
+			return "lean";
+		}
+
+		@Bean(name = "variant")
+		@ConditionalOnPerformanceMode(PerformanceMode.HIGH)
+		String highVariant() {
+			return "high";
+		}
+
+		@Bean
+		@Conditional(MyCondition.class)
+		String always() {
+			return "always";
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.subAnnotations.conditional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class PerformanceModeTest {
+
+	@Test
+	void explicitModeWinsAndIgnoresCaseAndSpaces() {
+		assertThat(PerformanceMode.detect(new MockEnvironment().withProperty("performance.mode", " High ")))
+				.isEqualTo(PerformanceMode.HIGH);
+		assertThat(PerformanceMode.detect(new MockEnvironment().withProperty("performance.mode", "lean")
+				.withProperty("performance.high.min-cores", "1").withProperty("performance.high.min-heap", "1KB")))
+				.isEqualTo(PerformanceMode.LEAN);
+	}
+
+	@Test
+	void autoPicksHighWhenTheHostMeetsBothThresholds() {
+		MockEnvironment environment = new MockEnvironment().withProperty("performance.high.min-cores", "1")
+				.withProperty("performance.high.min-heap", "1KB");
+		assertThat(PerformanceMode.detect(environment)).isEqualTo(PerformanceMode.HIGH);
+		assertThat(PerformanceMode.detect(environment.withProperty("performance.mode", "AUTO")))
+				.isEqualTo(PerformanceMode.HIGH);
+	}
+
+	@Test
+	void autoPicksLeanWhenEitherThresholdIsMissed() {
+		assertThat(PerformanceMode.detect(new MockEnvironment().withProperty("performance.high.min-cores", "100000")
+				.withProperty("performance.high.min-heap", "1KB"))).isEqualTo(PerformanceMode.LEAN);
+		assertThat(PerformanceMode.detect(new MockEnvironment().withProperty("performance.high.min-cores", "1")
+				.withProperty("performance.high.min-heap", "1000TB"))).isEqualTo(PerformanceMode.LEAN);
+	}
+
+	@Test
+	void unknownModeNamesThePropertyAndTheAllowedValues() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> PerformanceMode.detect(new MockEnvironment().withProperty("performance.mode", "bogus")))
+				.withMessage("Expected performance.mode to be auto, lean or high but got 'bogus'");
+	}
+}
@@ -0,0 +1,29 @@
+package com.boldbit.spring_boot_fundamentals.importantAnotations.Bean.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class CustomizationTest {
+	private final ApplicationContextRunner runner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+			.withUserConfiguration(Customization.class);
+
+	@Test
+	void poolIsConfiguredFromPropertiesAndWarmedBeforeStartupCompletes() {
+		runner.withPropertyValues("spring.datasource.url=jdbc:h2:mem:customization;DB_CLOSE_DELAY=-1",
+				"spring.datasource.username=sa", "spring.datasource.hikari.pool-name=test-pool",
+				"spring.datasource.hikari.minimum-idle=3", "spring.datasource.hikari.maximum-pool-size=5")
+				.run(context -> {
+					HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+					assertThat(dataSource.getPoolName()).isEqualTo("test-pool");
+					assertThat(dataSource.getMaximumPoolSize()).isEqualTo(5);
+					assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isEqualTo(3);
+				});
+	}
+}
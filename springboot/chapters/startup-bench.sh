@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Cold-start comparison for one module:  ./startup-bench.sh core_spring_framework [runs]
+#
+# Each run launches a fresh JVM with -Dspring.context.exit=onRefresh, so the
+# number is the wall time from process start to a refreshed context. Modes:
+#   baseline  the fat jar as built today
+#   lazy      + the faststart profile (global lazy initialization)
+#   aot       + AOT-processed bean definitions (mvn -Pfaststart)
+#   aot+cds   + a class-data-sharing archive from a training run on the extracted jar
+set -euo pipefail
+
+module=${1:?usage: $0 <module> [runs]}
+runs=${2:-5}
+cd "$(dirname "$0")/$module"
+work=target/startup-bench
+jar_name=$module-0.0.1-SNAPSHOT.jar
+
+measure() {
+    local label=$1; shift
+    local total=0
+    for _ in $(seq "$runs"); do
+        local start end
+        start=$(date +%s%N)
+        java -Dspring.context.exit=onRefresh "$@" --server.port=0 > "$work/$label.log" 2>&1
+        end=$(date +%s%N)
+        total=$((total + (end - start) / 1000000))
+    done
+    printf '%-10s %6d ms (mean of %d)\n' "$label" $((total / runs)) "$runs"
+}
+
+mvn -B -q -DskipTests package
+rm -rf "$work" && mkdir -p "$work"
+cp "target/$jar_name" "$work/plain.jar"
+measure baseline -jar "$work/plain.jar"
+measure lazy -jar "$work/plain.jar" --spring.profiles.include=faststart
+
+# process-aot starts the application once; keep its output out of the results.
+mvn -B -q -DskipTests -Pfaststart package > "$work/aot-build.log" || { cat "$work/aot-build.log"; exit 1; }
+measure aot -Dspring.aot.enabled=true -jar "target/$jar_name" --spring.profiles.include=faststart
+
+java -Djarmode=tools -jar "target/$jar_name" extract --destination "$work/extracted" > /dev/null
+java -XX:ArchiveClassesAtExit="$work/app.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -jar "$work/extracted/$jar_name" --spring.profiles.include=faststart --server.port=0 > "$work/training.log" 2>&1
+measure aot+cds -XX:SharedArchiveFile="$work/app.jsa" -Dspring.aot.enabled=true \
+    -jar "$work/extracted/$jar_name" --spring.profiles.include=faststart
@@ -0,0 +1,71 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load: `clients` concurrent users, each issuing the next GET as soon
+ * as the previous one returns, for `seconds`. Prints throughput and latency
+ * percentiles. Throughput counts only requests that completed inside the window,
+ * over the measured window; requests still in flight at the deadline are left
+ * out of everything. Run with a Java 21 launcher: java load/BlockingLoad.java URL CLIENTS SECONDS
+ */
+public class BlockingLoad {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int clients = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+        long began = System.nanoTime();
+        long end = began + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<List<Long>> latencies = new ArrayList<>();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                List<Long> mine = new ArrayList<>();
+                latencies.add(mine);
+                users.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        boolean failed;
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            failed = response.statusCode() != 200;
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long finished = System.nanoTime();
+                        if (finished - end > 0) {
+                            break;
+                        }
+                        if (failed) {
+                            errors.incrementAndGet();
+                        }
+                        mine.add(finished - start);
+                    }
+                });
+            }
+        }
+        double elapsed = (Math.min(System.nanoTime(), end) - began) / 1e9;
+        long[] all = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                all.length, errors.get(), all.length / elapsed,
+                at(all, 0.50), at(all, 0.99), at(all, 1.0));
+    }
+
+    private static double at(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -2,8 +2,10 @@ package com.boldbit.firstspring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
+@EnableAsync
 public class FirstspringApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,28 @@
+package com.boldbit.firstspring.blocking;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/blocking")
+public class BlockingController {
+    private final SlowBackend slowBackend;
+
+    public BlockingController(SlowBackend slowBackend) {
+        this.slowBackend = slowBackend;
+    }
+
+    @GetMapping("/io")
+    public String io(@RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        return slowBackend.call(millis);
+    }
+
+    @GetMapping("/async")
+    public CompletableFuture<String> async(@RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        return slowBackend.callAsync(millis);
+    }
+}
@@ -0,0 +1,21 @@
+package com.boldbit.firstspring.blocking;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+// Stands in for a blocking call to a database or remote service.
+@Service
+public class SlowBackend {
+
+    public String call(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return "done on " + Thread.currentThread();
+    }
+
+    @Async
+    public CompletableFuture<String> callAsync(long millis) throws InterruptedException {
+        return CompletableFuture.completedFuture(call(millis));
+    }
+}
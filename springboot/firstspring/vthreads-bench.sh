@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Platform-thread pool vs virtual threads on a blocking endpoint:
+#   ./vthreads-bench.sh [clients] [seconds] [endpoint]
+# Needs a Java 21 `java` on the PATH (virtual threads are ignored on 17).
+# Tomcat's default pool is 200 threads, so with 2s of blocking per request the
+# platform run tops out near 100 req/s however many clients there are. The long
+# block keeps the comparison about threads rather than CPU on small machines.
+set -euo pipefail
+
+clients=${1:-600}
+seconds=${2:-20}
+endpoint=${3:-/blocking/io?millis=2000}
+cd "$(dirname "$0")"
+port=18095
+
+run() {
+    local label=$1; shift
+    java -jar target/firstspring-0.0.1-SNAPSHOT.jar --server.port=$port "$@" > "target/$label.log" 2>&1 &
+    local pid=$!
+    until grep -q "Started " "target/$label.log"; do
+        kill -0 $pid 2> /dev/null || { cat "target/$label.log"; exit 1; }
+        sleep 0.2
+    done
+    java load/BlockingLoad.java "http://localhost:$port$endpoint" 50 3 > /dev/null
+    printf '%-9s ' "$label"
+    java load/BlockingLoad.java "http://localhost:$port$endpoint" "$clients" "$seconds"
+    kill $pid && wait $pid 2> /dev/null || true
+}
+
+mvn -B -q -DskipTests package
+run platform
+run virtual --spring.profiles.active=vthreads